@@ -0,0 +1,60 @@
+package swingbuilder;
+
+import com.insilicalabs.swingbuilder.SwingBuilderBase;
+
+import javax.swing.JPanel;
+
+import static com.insilicalabs.swingbuilder.Configurators.enabled;
+import static com.insilicalabs.swingbuilder.Configurators.name;
+import static com.insilicalabs.swingbuilder.Configurators.tooltip;
+import static com.insilicalabs.swingbuilder.Configurators.visible;
+import static com.insilicalabs.swingbuilder.Creators.label;
+import static com.insilicalabs.swingbuilder.Creators.panel;
+
+/**
+ * Builds a large form from a non-EDT thread with per-configurator dispatch and with <code>buildBatched</code>, then prints
+ * the EDT round trips and wall time for each. Run its <code>main</code>; it reports its own numbers rather than
+ * running under JMH.
+ */
+public class BatchedConfigureBenchmark {
+
+    private static final int ROWS = 500;
+    private static final int ITERATIONS = 10;
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        // warm up both paths
+        run(false, 2);
+        run(true, 2);
+        report("per-configurator", run(false, ITERATIONS));
+        report("batched", run(true, ITERATIONS));
+    }
+
+    private static void report(String mode, long[] result) {
+        System.out.println(String.format("%-16s round trips/build: %6d   ms/build: %8.2f",
+            mode, result[0] / ITERATIONS, result[1] / 1e6 / ITERATIONS));
+    }
+
+    private static long[] run(boolean batched, int iterations) {
+        long trips = SwingBuilderBase.getEdtRoundTrips();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            if (batched) {
+                SwingBuilderBase.buildBatched(BatchedConfigureBenchmark::buildForm);
+            } else {
+                buildForm();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        return new long[]{SwingBuilderBase.getEdtRoundTrips() - trips, elapsed};
+    }
+
+    private static JPanel buildForm() {
+        Object[] rows = new Object[ROWS * 2];
+        for (int i = 0; i < ROWS; i++) {
+            rows[i * 2] = label("field " + i, name("label" + i), tooltip("tip " + i), enabled(), visible(true));
+            rows[i * 2 + 1] = "wrap";
+        }
+        return panel(name("form"), rows);
+    }
+}
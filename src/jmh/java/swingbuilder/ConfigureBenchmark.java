@@ -0,0 +1,62 @@
+package swingbuilder;
+
+import com.insilicalabs.swingbuilder.SwingBuilderBase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.swing.JLabel;
+import javax.swing.SwingUtilities;
+import java.util.concurrent.TimeUnit;
+
+import static com.insilicalabs.swingbuilder.Configurators.enabled;
+import static com.insilicalabs.swingbuilder.Configurators.name;
+import static com.insilicalabs.swingbuilder.Configurators.tooltip;
+
+/**
+ * <code>configure</code> dispatch over a nested configuration: arrays of arrays of configurators with bare Strings
+ * mixed in. Measured both from the EDT, where configurators run inline, and from the benchmark thread, where each one
+ * is handed to the EDT.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigureBenchmark {
+
+    @Param({"10", "100"})
+    public int groups;
+
+    private JLabel label;
+    private Object[] configuration;
+
+    @Setup
+    public void setup() {
+        label = new JLabel();
+        configuration = new Object[groups];
+        for (int i = 0; i < groups; i++) {
+            configuration[i] = new Object[]{"text " + i, new Object[]{name("name " + i), tooltip("tip " + i)}, enabled()};
+        }
+    }
+
+    @Benchmark
+    public JLabel nestedOnEDT() throws Exception {
+        SwingUtilities.invokeAndWait(() -> SwingBuilderBase.configure(label, configuration));
+        return label;
+    }
+
+    @Benchmark
+    public JLabel nestedOffEDT() {
+        return SwingBuilderBase.configure(label, configuration);
+    }
+}
@@ -0,0 +1,62 @@
+package swingbuilder;
+
+import com.insilicalabs.swingbuilder.Configurators;
+import com.insilicalabs.swingbuilder.SwingBuilderBase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import java.util.concurrent.TimeUnit;
+
+import static com.insilicalabs.swingbuilder.Creators.migLayout;
+
+/**
+ * <code>Configurators.contents</code> adding N children, each followed by a MigLayout constraint, to a fresh panel.
+ * Applied directly (as if on the EDT) so only the contents work is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContentsBenchmark {
+
+    private static final String[] CONSTRAINTS = {"growx", "span 2", "wrap", "gap 5", "align right"};
+
+    @Param({"10", "100", "1000"})
+    public int children;
+
+    private JPanel panel;
+    private Object[] contents;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        panel = new JPanel(migLayout());
+        contents = new Object[children * 2];
+        for (int i = 0; i < children; i++) {
+            contents[i * 2] = new JLabel("child " + i);
+            contents[i * 2 + 1] = CONSTRAINTS[i % CONSTRAINTS.length];
+        }
+    }
+
+    @Benchmark
+    public JPanel contentsWithConstraints() {
+        // detached build, so this runs on the benchmark thread like it would on the EDT
+        return SwingBuilderBase.buildDetached(() -> {
+            Configurators.contents(contents).applyOnEDT(panel);
+            return panel;
+        });
+    }
+}
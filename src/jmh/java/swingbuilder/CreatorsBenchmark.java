@@ -0,0 +1,59 @@
+package swingbuilder;
+
+import com.insilicalabs.swingbuilder.SwingBuilderBase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.swing.JDialog;
+import javax.swing.JPanel;
+import java.util.concurrent.TimeUnit;
+
+import static com.insilicalabs.swingbuilder.Configurators.name;
+import static com.insilicalabs.swingbuilder.Creators.button;
+import static com.insilicalabs.swingbuilder.Creators.dialog;
+import static com.insilicalabs.swingbuilder.Creators.label;
+import static com.insilicalabs.swingbuilder.Creators.panel;
+import static com.insilicalabs.swingbuilder.Creators.textField;
+
+/**
+ * Construction of a small form with <code>Creators.panel</code> and inside a <code>Creators.dialog</code>, in detached
+ * build mode so the construction itself is measured rather than EDT handoffs. The dialog benchmark needs a display; it
+ * fails with a HeadlessException when run headless.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreatorsBenchmark {
+
+    @Benchmark
+    public JPanel panelForm() {
+        return SwingBuilderBase.buildDetached(CreatorsBenchmark::form);
+    }
+
+    @Benchmark
+    public JDialog dialogForm() {
+        JDialog d = SwingBuilderBase.buildDetached(() -> dialog(form()));
+        d.dispose();
+        return d;
+    }
+
+    private static JPanel form() {
+        return panel(
+            name("form"),
+            label("Name"), textField(), "growx, wrap",
+            label("Address"), textField(), "growx, wrap",
+            label("Phone"), textField(), "growx, wrap",
+            button("OK"), "span 2, align right"
+        );
+    }
+}
@@ -0,0 +1,64 @@
+package swingbuilder;
+
+import com.insilicalabs.swingbuilder.Configurators;
+import com.insilicalabs.swingbuilder.SwingBuilderBase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.swing.JComboBox;
+import javax.swing.JList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <code>Configurators.items</code> replacing the model of a JList and a JComboBox with a large list of Strings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemsBenchmark {
+
+    @Param({"1000", "100000"})
+    public int items;
+
+    private List<String> data;
+    private JList list;
+    private JComboBox comboBox;
+
+    @Setup
+    public void setup() {
+        data = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) data.add("item " + i);
+        list = new JList();
+        comboBox = new JComboBox();
+    }
+
+    @Benchmark
+    public JList listItems() {
+        return SwingBuilderBase.buildDetached(() -> {
+            Configurators.items(data).applyOnEDT(list);
+            return list;
+        });
+    }
+
+    @Benchmark
+    public JComboBox comboBoxItems() {
+        return SwingBuilderBase.buildDetached(() -> {
+            Configurators.items(data).applyOnEDT(comboBox);
+            return comboBox;
+        });
+    }
+}
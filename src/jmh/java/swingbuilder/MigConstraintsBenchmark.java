@@ -0,0 +1,68 @@
+package swingbuilder;
+
+import com.insilicalabs.swingbuilder.Configurators;
+import com.insilicalabs.swingbuilder.Creators;
+import com.insilicalabs.swingbuilder.SwingBuilderBase;
+import net.miginfocom.swing.MigLayout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repeatedly building the same form: MigLayout given raw constraint Strings, which it parses every time, against
+ * <code>contents</code> and <code>Creators.migLayout</code>, which parse each String once and reuse the result.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MigConstraintsBenchmark {
+
+    private static final String[] CONSTRAINTS = {
+        "growx, wrap", "span 2, align right", "gap 5 10, sizegroup labels", "w 100:200:300, growx", "skip, wrap"
+    };
+    private static final int CHILDREN = 100;
+
+    private Object[] contents;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        contents = new Object[CHILDREN * 2];
+        for (int i = 0; i < CHILDREN; i++) {
+            contents[i * 2] = new JLabel("child " + i);
+            contents[i * 2 + 1] = CONSTRAINTS[i % CONSTRAINTS.length];
+        }
+    }
+
+    @Benchmark
+    public JPanel addWithStrings() {
+        JPanel panel = new JPanel(new MigLayout("insets 5, fillx", "[right][grow, fill]", "[]10[]"));
+        for (int i = 0; i < contents.length; i += 2) {
+            panel.add((JLabel) contents[i], contents[i + 1]);
+        }
+        return panel;
+    }
+
+    @Benchmark
+    public JPanel addWithContents() {
+        JPanel panel = new JPanel(Creators.migLayout("insets 5, fillx", "[right][grow, fill]", "[]10[]"));
+        return SwingBuilderBase.buildDetached(() -> {
+            Configurators.contents(contents).applyOnEDT(panel);
+            return panel;
+        });
+    }
+}
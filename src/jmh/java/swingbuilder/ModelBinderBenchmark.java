@@ -0,0 +1,69 @@
+package swingbuilder;
+
+import com.insilicalabs.swingbuilder.ModelBinder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.swing.JCheckBox;
+import javax.swing.JLabel;
+import javax.swing.SwingUtilities;
+import java.util.concurrent.TimeUnit;
+
+import static com.insilicalabs.swingbuilder.Configurators.SELECTED;
+import static com.insilicalabs.swingbuilder.Configurators.UNSELECTED;
+import static com.insilicalabs.swingbuilder.Configurators.text;
+import static com.insilicalabs.swingbuilder.Creators.checkBox;
+import static com.insilicalabs.swingbuilder.Creators.label;
+
+/**
+ * <code>ModelBinder.setModel</code> fanning out to N bound labels and N bound check boxes, from the EDT and from the
+ * benchmark thread (one EDT handoff per binding).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBinderBenchmark {
+
+    @Param({"10", "1000"})
+    public int bindings;
+
+    private ModelBinder<Integer> binder;
+    private JLabel[] labels;
+    private JCheckBox[] checkBoxes;
+    private int value;
+
+    @Setup
+    public void setup() {
+        binder = new ModelBinder<>(0);
+        labels = new JLabel[bindings];
+        checkBoxes = new JCheckBox[bindings];
+        for (int i = 0; i < bindings; i++) {
+            labels[i] = label(binder.bind((v) -> text("value " + v)));
+            checkBoxes[i] = checkBox(binder.bind((v) -> v % 2 == 0 ? SELECTED : UNSELECTED));
+        }
+    }
+
+    @Benchmark
+    public ModelBinder<Integer> updateOnEDT() throws Exception {
+        SwingUtilities.invokeAndWait(() -> binder.setModel(++value));
+        return binder;
+    }
+
+    @Benchmark
+    public ModelBinder<Integer> updateOffEDT() {
+        binder.setModel(++value);
+        return binder;
+    }
+}
@@ -0,0 +1,93 @@
+package swingbuilder;
+
+import com.insilicalabs.swingbuilder.Configurators.Configurator;
+
+import javax.swing.JEditorPane;
+import javax.swing.JPanel;
+import java.awt.Component;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import static com.insilicalabs.swingbuilder.Configurators.columnNames;
+import static com.insilicalabs.swingbuilder.Configurators.data;
+import static com.insilicalabs.swingbuilder.Configurators.name;
+import static com.insilicalabs.swingbuilder.Configurators.row;
+import static com.insilicalabs.swingbuilder.Configurators.text;
+import static com.insilicalabs.swingbuilder.Creators.editorPane;
+import static com.insilicalabs.swingbuilder.Creators.label;
+import static com.insilicalabs.swingbuilder.Creators.panel;
+import static com.insilicalabs.swingbuilder.Creators.parallel;
+import static com.insilicalabs.swingbuilder.Creators.scrollPane;
+import static com.insilicalabs.swingbuilder.Creators.table;
+
+/**
+ * Builds a dashboard of independent, moderately expensive subtrees with <code>parallel</code> on pools of 1 up to the
+ * number of available cores and prints the time to build the whole dashboard for each. Headless, so the time stops
+ * before the frame would be shown. Run its <code>main</code>; it reports its own numbers rather than running under
+ * JMH.
+ */
+public class ParallelBuildBenchmark {
+
+    private static final int SUBTREES = 48;
+    private static final int ITERATIONS = 5;
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        int cores = Runtime.getRuntime().availableProcessors();
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads < cores; threads *= 2) threadCounts.add(threads);
+        threadCounts.add(cores);
+        for (int threads : threadCounts) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            build(pool); // warm up
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                build(pool);
+            }
+            double ms = (System.nanoTime() - start) / 1e6 / ITERATIONS;
+            System.out.println(String.format("threads: %3d   ms/dashboard: %8.2f", threads, ms));
+            pool.shutdown();
+        }
+    }
+
+    private static JPanel build(ForkJoinPool pool) {
+        Object[] subtrees = new Object[SUBTREES * 2];
+        for (int i = 0; i < SUBTREES; i++) {
+            int index = i;
+            subtrees[i * 2] = (Supplier<JPanel>) () -> widget(index);
+            subtrees[i * 2 + 1] = i % 4 == 3 ? "grow, wrap" : "grow";
+        }
+        return panel(name("dashboard"), parallel(pool, subtrees));
+    }
+
+    private static JPanel widget(int index) {
+        Object[][] rows = new Object[200][];
+        for (int r = 0; r < rows.length; r++) {
+            rows[r] = new Object[]{"row " + r, r * index, Math.sqrt(r * index)};
+        }
+        List<Object[]> tableData = Arrays.asList(rows);
+        StringBuilder html = new StringBuilder("<html><body>");
+        for (int p = 0; p < 50; p++) {
+            html.append("<p>widget ").append(index).append(" paragraph <b>").append(p).append("</b></p>");
+        }
+        html.append("</body></html>");
+        return panel(
+            label("widget " + index), "wrap",
+            scrollPane(table(columnNames(Arrays.asList("name", "value", "root")), data(tableData),
+                row(o -> (Object[]) o))), "grow, wrap",
+            editorPane(contentType("text/html"), text(html.toString()))
+        );
+    }
+
+    private static Configurator contentType(String type) {
+        return new Configurator() {
+            @Override
+            protected void apply(Component c) {
+                ((JEditorPane) c).setContentType(type);
+            }
+        };
+    }
+}
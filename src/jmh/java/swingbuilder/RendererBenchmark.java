@@ -0,0 +1,81 @@
+package swingbuilder;
+
+import com.insilicalabs.swingbuilder.components.FastTableCellRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.swing.JTable;
+import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableCellRenderer;
+import java.awt.Component;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering and painting a screenful of numeric cells (40 rows by 20 columns), as the table does on every scroll,
+ * with the table's default Double renderer and with <code>FastTableCellRenderer</code>.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RendererBenchmark {
+
+    private static final int ROWS = 40;
+    private static final int COLUMNS = 20;
+
+    @Param({"default", "fast"})
+    public String renderer;
+
+    private JTable table;
+    private TableCellRenderer cellRenderer;
+    private BufferedImage image;
+    private Graphics2D g;
+    private int offset = 0;
+
+    @Setup
+    public void setup() {
+        DefaultTableModel model = new DefaultTableModel(100_000, COLUMNS) {
+            @Override
+            public Object getValueAt(int row, int column) {
+                return row * 0.25 + column;
+            }
+        };
+        table = new JTable(model);
+        cellRenderer = renderer.equals("fast") ? FastTableCellRenderer.number() : table.getDefaultRenderer(Double.class);
+        image = new BufferedImage(80, 16, BufferedImage.TYPE_INT_ARGB);
+        g = image.createGraphics();
+    }
+
+    @TearDown
+    public void tearDown() {
+        g.dispose();
+    }
+
+    @Benchmark
+    public void paintScreenful() {
+        // Scrolling: mostly values seen before, some new.
+        offset = (offset + 3) % 10_000;
+        for (int r = offset; r < offset + ROWS; r++) {
+            for (int c = 0; c < COLUMNS; c++) {
+                Component component = cellRenderer.getTableCellRendererComponent(table, table.getValueAt(r, c),
+                    false, false, r, c);
+                component.setBounds(0, 0, 80, 16);
+                component.paint(g);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package swingbuilder;
+
+import com.insilicalabs.swingbuilder.models.SBTableModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scanning every cell of an <code>SBTableModel</code> through <code>getValueAt</code>, the way painting and sorting
+ * do, with a row function that projects a POJO into columns, the same with the row cache, and with columnar cell
+ * functions. Run with <code>-prof gc</code> to compare allocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SBTableModelBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    @Param({"10"})
+    public int columns;
+
+    @Param({"row", "cachedRow", "column"})
+    public String mode;
+
+    private SBTableModel model;
+
+    @Setup
+    public void setup() {
+        List<double[]> data = new ArrayList<>(rows);
+        for (int r = 0; r < rows; r++) {
+            double[] row = new double[columns];
+            for (int c = 0; c < columns; c++) row[c] = r * columns + c;
+            data.add(row);
+        }
+        model = new SBTableModel();
+        if (mode.equals("column")) {
+            for (int c = 0; c < columns; c++) {
+                int column = c;
+                model.addColumn("c" + c, (o) -> ((double[]) o)[column]);
+            }
+        } else {
+            model.setRowFn((o) -> {
+                double[] row = (double[]) o;
+                Object[] cells = new Object[row.length];
+                for (int c = 0; c < row.length; c++) cells[c] = row[c];
+                return cells;
+            });
+            if (mode.equals("cachedRow")) model.setRowCacheSize(64);
+        }
+        model.setData(data);
+    }
+
+    @Benchmark
+    public void scanAllCells(Blackhole bh) {
+        int rowCount = model.getRowCount();
+        int columnCount = model.getColumnCount();
+        for (int r = 0; r < rowCount; r++) {
+            for (int c = 0; c < columnCount; c++) {
+                bh.consume(model.getValueAt(r, c));
+            }
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.insilicalabs.swingbuilder;
+
+import javax.swing.AbstractButton;
+import javax.swing.Action;
+import javax.swing.ActionMap;
+import javax.swing.ButtonGroup;
+import javax.swing.ButtonModel;
+import javax.swing.DefaultButtonModel;
+import javax.swing.Icon;
+import javax.swing.InputMap;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.KeyStroke;
+import javax.swing.border.Border;
+import javax.swing.event.AncestorListener;
+import javax.swing.event.ChangeListener;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.LayoutManager;
+import java.awt.event.ActionListener;
+import java.awt.event.ComponentListener;
+import java.awt.event.ContainerListener;
+import java.awt.event.FocusListener;
+import java.awt.event.HierarchyBoundsListener;
+import java.awt.event.HierarchyListener;
+import java.awt.event.InputMethodListener;
+import java.awt.event.ItemListener;
+import java.awt.event.KeyListener;
+import java.awt.event.MouseListener;
+import java.awt.event.MouseMotionListener;
+import java.awt.event.MouseWheelListener;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.beans.VetoableChangeListener;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * An opt-in pool of components for screens that are rebuilt over and over with <code>replacecontents</code> or
+ * <code>ModelBinder</code>. Pooling is enabled per component class with a cap on how many idle instances to keep:
+ * <pre>
+ *     ComponentPool.enable(JLabel.class, 500);
+ *     ComponentPool.enable(JPanel.class, 100);
+ * </pre>
+ * Once enabled, the <code>Creators</code> for that class hand out pooled instances, and <code>replacecontents</code>
+ * gives the components it removes back to the pool.
+ * <p>
+ *     Before going back to the pool a component is reset to how it was when first created: listeners of every kind
+ *     added since then are removed, its own input and action map entries are put back as they were, the properties
+ *     SwingBuilder configures (text, icon, border, font, colors, sizes, tooltip, name, enabled, visible, opaque,
+ *     layout) are restored, buttons are taken out of any ButtonGroup they were added to, and containers have their
+ *     children released and removed. Client properties with String keys are set back too; Swing has no way to list the
+ *     others, so do not put client properties with other keys on pooled components. <code>ModelBinder</code> bindings
+ *     to a recycled component are dropped.
+ * </p>
+ * <p>
+ *     Only components created by the pool are ever pooled. Do not keep references to components that were removed by
+ *     <code>replacecontents</code> while pooling is enabled for their class, since they may be handed out again.
+ * </p>
+ */
+public final class ComponentPool {
+
+    private static final Object BASELINE_KEY = new Object(); // client property holding a pooled component's Baseline
+    private static final Map<Class<?>, Pool> POOLS = new ConcurrentHashMap<>();
+
+    private ComponentPool() {
+    }
+
+    /**
+     * Enables pooling for components of exactly <code>type</code>, keeping at most <code>cap</code> idle instances.
+     *
+     * @param type
+     * @param cap
+     */
+    public static void enable(Class<? extends JComponent> type, int cap) {
+        POOLS.computeIfAbsent(type, t -> new Pool()).cap = cap;
+    }
+
+    /**
+     * Disables pooling for <code>type</code> and drops any idle instances.
+     *
+     * @param type
+     */
+    public static void disable(Class<? extends JComponent> type) {
+        POOLS.remove(type);
+    }
+
+    public static long getHits(Class<? extends JComponent> type) {
+        Pool pool = POOLS.get(type);
+        return pool == null ? 0 : pool.hits.get();
+    }
+
+    public static long getMisses(Class<? extends JComponent> type) {
+        Pool pool = POOLS.get(type);
+        return pool == null ? 0 : pool.misses.get();
+    }
+
+    /**
+     * @param type
+     * @return the number of idle instances of <code>type</code> waiting to be reused.
+     */
+    public static int getIdleCount(Class<? extends JComponent> type) {
+        Pool pool = POOLS.get(type);
+        return pool == null ? 0 : pool.size.get();
+    }
+
+    /**
+     * @return an idle instance of <code>type</code> if pooling is enabled for it and one is available, otherwise a new
+     * one from <code>factory</code>.
+     */
+    static <T extends JComponent> T obtain(Class<T> type, Supplier<T> factory) {
+        Pool pool = POOLS.get(type);
+        if (pool == null) return factory.get();
+        JComponent c = pool.idle.poll();
+        if (c != null) {
+            pool.size.decrementAndGet();
+            pool.hits.incrementAndGet();
+            return type.cast(c);
+        }
+        pool.misses.incrementAndGet();
+        T created = factory.get();
+        created.putClientProperty(BASELINE_KEY, new Baseline(created));
+        return created;
+    }
+
+    /**
+     * Resets <code>c</code> and keeps it for reuse if it came from the pool and its pool has room. The children of a
+     * pooled container are released too. Components that did not come from the pool are left alone, children and all.
+     *
+     * @param c
+     */
+    static void release(Component c) {
+        if (!(c instanceof JComponent)) return;
+        JComponent jc = (JComponent) c;
+        Object baseline = jc.getClientProperty(BASELINE_KEY);
+        if (!(baseline instanceof Baseline)) return;
+        for (Component child : jc.getComponents()) {
+            release(child);
+        }
+        ((Baseline) baseline).restore(jc);
+        Pool pool = POOLS.get(jc.getClass());
+        if (pool == null) return;
+        if (pool.size.incrementAndGet() <= pool.cap) {
+            pool.idle.push(jc);
+        } else {
+            pool.size.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return a number that changes every time <code>c</code> goes back to the pool. Lets holders of a reference to a
+     * component, like ModelBinder, tell that it has since been recycled.
+     */
+    static int generation(Component c) {
+        if (!(c instanceof JComponent)) return 0;
+        Object baseline = ((JComponent) c).getClientProperty(BASELINE_KEY);
+        return baseline instanceof Baseline ? ((Baseline) baseline).generation : 0;
+    }
+
+    private static final class Pool {
+        private volatile int cap;
+        private final ConcurrentLinkedDeque<JComponent> idle = new ConcurrentLinkedDeque<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+    }
+
+    /**
+     * The state of a component when it was created: what it is reset to before being reused.
+     */
+    private static final class Baseline implements PropertyChangeListener {
+        private static final int[] INPUT_MAP_CONDITIONS = {JComponent.WHEN_FOCUSED,
+            JComponent.WHEN_ANCESTOR_OF_FOCUSED_COMPONENT, JComponent.WHEN_IN_FOCUSED_WINDOW};
+        private static final Object UNSET = new Object();
+
+        private volatile int generation = 0;
+        private final Set<Object> listeners;
+        private final InputMap[] inputMaps = new InputMap[INPUT_MAP_CONDITIONS.length];
+        private final Map<KeyStroke, Object>[] inputMapEntries;
+        private final ActionMap actionMap;
+        private final Map<Object, Action> actionMapEntries = new HashMap<>();
+        // The value each property had before it first changed, by name; String keyed client properties among them.
+        private final Map<String, Object> changedProperties = new ConcurrentHashMap<>();
+        private final String text;
+        private final Icon icon;
+        private final Border border;
+        private final Font font;
+        private final Color foreground;
+        private final Color background;
+        private final boolean opaque;
+        private final boolean enabled;
+        private final LayoutManager layout;
+        private final ButtonGroup group;
+        private final Dimension preferredSize;
+        private final Dimension minimumSize;
+        private final Dimension maximumSize;
+
+        @SuppressWarnings("unchecked")
+        private Baseline(JComponent c) {
+            // Added first so it is part of the baseline and never removed.
+            c.addPropertyChangeListener(this);
+            this.listeners = new HashSet<>(listeners(c));
+            this.inputMapEntries = new Map[INPUT_MAP_CONDITIONS.length];
+            for (int i = 0; i < INPUT_MAP_CONDITIONS.length; i++) {
+                inputMaps[i] = c.getInputMap(INPUT_MAP_CONDITIONS[i]);
+                inputMapEntries[i] = new HashMap<>();
+                KeyStroke[] keys = inputMaps[i].keys();
+                if (keys != null) for (KeyStroke key : keys) inputMapEntries[i].put(key, inputMaps[i].get(key));
+            }
+            this.actionMap = c.getActionMap();
+            Object[] actionKeys = actionMap.keys();
+            if (actionKeys != null) for (Object key : actionKeys) actionMapEntries.put(key, actionMap.get(key));
+            this.text = c instanceof JLabel ? ((JLabel) c).getText()
+                : c instanceof AbstractButton ? ((AbstractButton) c).getText() : null;
+            this.icon = c instanceof JLabel ? ((JLabel) c).getIcon()
+                : c instanceof AbstractButton ? ((AbstractButton) c).getIcon() : null;
+            this.border = c.getBorder();
+            this.font = c.getFont();
+            this.foreground = c.getForeground();
+            this.background = c.getBackground();
+            this.opaque = c.isOpaque();
+            this.enabled = c.isEnabled();
+            this.layout = c.getLayout();
+            this.group = group(c);
+            this.preferredSize = c.isPreferredSizeSet() ? c.getPreferredSize() : null;
+            this.minimumSize = c.isMinimumSizeSet() ? c.getMinimumSize() : null;
+            this.maximumSize = c.isMaximumSizeSet() ? c.getMaximumSize() : null;
+        }
+
+        @Override
+        public void propertyChange(PropertyChangeEvent e) {
+            if (e.getPropertyName() == null) return;
+            changedProperties.putIfAbsent(e.getPropertyName(), e.getOldValue() == null ? UNSET : e.getOldValue());
+        }
+
+        private void restore(JComponent c) {
+            generation++;
+            removeAddedListeners(c);
+            c.removeAll();
+            if (c instanceof JLabel) {
+                ((JLabel) c).setText(text);
+                ((JLabel) c).setIcon(icon);
+            } else if (c instanceof AbstractButton) {
+                ((AbstractButton) c).setText(text);
+                ((AbstractButton) c).setIcon(icon);
+                // Out of the group first: a group keeps its selected button selected.
+                ButtonGroup current = group(c);
+                if (current != group) {
+                    if (current != null) current.remove((AbstractButton) c);
+                    if (group != null) group.add((AbstractButton) c);
+                }
+                ((AbstractButton) c).setSelected(false);
+            }
+            c.setBorder(border);
+            c.setFont(font);
+            c.setForeground(foreground);
+            c.setBackground(background);
+            c.setOpaque(opaque);
+            c.setEnabled(enabled);
+            c.setVisible(true);
+            c.setToolTipText(null);
+            c.setName(null);
+            c.setLayout(layout);
+            c.setPreferredSize(preferredSize);
+            c.setMinimumSize(minimumSize);
+            c.setMaximumSize(maximumSize);
+            restoreKeyBindings(c);
+            restoreClientProperties(c);
+        }
+
+        private void restoreKeyBindings(JComponent c) {
+            for (int i = 0; i < INPUT_MAP_CONDITIONS.length; i++) {
+                InputMap map = inputMaps[i];
+                if (c.getInputMap(INPUT_MAP_CONDITIONS[i]) != map) c.setInputMap(INPUT_MAP_CONDITIONS[i], map);
+                map.clear();
+                inputMapEntries[i].forEach(map::put);
+            }
+            if (c.getActionMap() != actionMap) c.setActionMap(actionMap);
+            actionMap.clear();
+            actionMapEntries.forEach(actionMap::put);
+        }
+
+        /*
+         * Swing cannot list client properties, but putting one fires a property change named after its key, so those
+         * with String keys put since the last reset are known and set back. Properties named after bean properties are
+         * not client properties and are left to the setters above.
+         */
+        private void restoreClientProperties(JComponent c) {
+            c.putClientProperty(Configurators.RECONCILE_KEY, null);
+            Map<String, Object> changed = new HashMap<>(changedProperties);
+            for (Map.Entry<String, Object> entry : changed.entrySet()) {
+                if (c.getClientProperty(entry.getKey()) == null) continue;
+                Object original = entry.getValue() == UNSET ? null : entry.getValue();
+                c.putClientProperty(entry.getKey(), original);
+            }
+            changedProperties.clear();
+        }
+
+        private void removeAddedListeners(JComponent c) {
+            for (Object l : listeners(c)) {
+                if (listeners.contains(l)) continue;
+                if (l instanceof MouseListener) c.removeMouseListener((MouseListener) l);
+                if (l instanceof MouseMotionListener) c.removeMouseMotionListener((MouseMotionListener) l);
+                if (l instanceof MouseWheelListener) c.removeMouseWheelListener((MouseWheelListener) l);
+                if (l instanceof KeyListener) c.removeKeyListener((KeyListener) l);
+                if (l instanceof FocusListener) c.removeFocusListener((FocusListener) l);
+                if (l instanceof ComponentListener) c.removeComponentListener((ComponentListener) l);
+                if (l instanceof HierarchyListener) c.removeHierarchyListener((HierarchyListener) l);
+                if (l instanceof HierarchyBoundsListener) c.removeHierarchyBoundsListener((HierarchyBoundsListener) l);
+                if (l instanceof ContainerListener) c.removeContainerListener((ContainerListener) l);
+                if (l instanceof InputMethodListener) c.removeInputMethodListener((InputMethodListener) l);
+                if (l instanceof AncestorListener) c.removeAncestorListener((AncestorListener) l);
+                if (l instanceof PropertyChangeListener) c.removePropertyChangeListener((PropertyChangeListener) l);
+                if (l instanceof VetoableChangeListener) c.removeVetoableChangeListener((VetoableChangeListener) l);
+                if (c instanceof AbstractButton) {
+                    AbstractButton b = (AbstractButton) c;
+                    if (l instanceof ActionListener) b.removeActionListener((ActionListener) l);
+                    if (l instanceof ItemListener) b.removeItemListener((ItemListener) l);
+                    if (l instanceof ChangeListener) b.removeChangeListener((ChangeListener) l);
+                }
+            }
+        }
+
+        private static ButtonGroup group(JComponent c) {
+            if (!(c instanceof AbstractButton)) return null;
+            ButtonModel model = ((AbstractButton) c).getModel();
+            return model instanceof DefaultButtonModel ? ((DefaultButtonModel) model).getGroup() : null;
+        }
+
+        private static Set<Object> listeners(JComponent c) {
+            Set<Object> all = new HashSet<>();
+            all.addAll(Arrays.asList(c.getMouseListeners()));
+            all.addAll(Arrays.asList(c.getMouseMotionListeners()));
+            all.addAll(Arrays.asList(c.getMouseWheelListeners()));
+            all.addAll(Arrays.asList(c.getKeyListeners()));
+            all.addAll(Arrays.asList(c.getFocusListeners()));
+            all.addAll(Arrays.asList(c.getComponentListeners()));
+            all.addAll(Arrays.asList(c.getHierarchyListeners()));
+            all.addAll(Arrays.asList(c.getHierarchyBoundsListeners()));
+            all.addAll(Arrays.asList(c.getContainerListeners()));
+            all.addAll(Arrays.asList(c.getInputMethodListeners()));
+            all.addAll(Arrays.asList(c.getAncestorListeners()));
+            all.addAll(Arrays.asList(c.getPropertyChangeListeners()));
+            all.addAll(Arrays.asList(c.getVetoableChangeListeners()));
+            if (c instanceof AbstractButton) {
+                AbstractButton b = (AbstractButton) c;
+                all.addAll(Arrays.asList(b.getActionListeners()));
+                all.addAll(Arrays.asList(b.getItemListeners()));
+                all.addAll(Arrays.asList(b.getChangeListeners()));
+            }
+            return all;
+        }
+    }
+}
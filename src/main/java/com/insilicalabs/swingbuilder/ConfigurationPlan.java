@@ -0,0 +1,99 @@
+package com.insilicalabs.swingbuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.Component;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A configuration that has been flattened and resolved once so it can be applied to many components cheaply. Nested
+ * arrays and collections are walked, and bare Strings, Components, Borders, etc. are converted to configurators, at
+ * compile time using the same conversions the typed <code>SwingBuilderBase.configure</code> overloads use. Applying
+ * the plan then just runs the resulting configurators in order, all in a single EDT task.
+ * <p>
+ *     A plan is itself a configurator, so it can be passed anywhere a configuration is expected:
+ * </p>
+ * <pre>
+ *     ConfigurationPlan row = ConfigurationPlan.compile(JPanel.class, emptyborder(2, 2, 2, 2), background(Color.WHITE));
+ *     for (Item item : items) {
+ *         rows.add(panel(row, label(item.getName())));
+ *     }
+ * </pre>
+ * <p>
+ *     Configurators are reused across every component the plan is applied to. That's fine for the configurators in
+ *     Configurators, but a component instance in the plan (e.g. a child passed to a panel) can only have one parent
+ *     and will be moved each time the plan is applied. Pass per-component children alongside the plan instead.
+ * </p>
+ */
+public class ConfigurationPlan extends Configurators.Configurator {
+
+    private final static Logger LOG = LoggerFactory.getLogger(ConfigurationPlan.class);
+
+    private final Configurators.Configurator[] steps;
+
+    private ConfigurationPlan(Configurators.Configurator[] steps) {
+        this.steps = steps;
+    }
+
+    /**
+     * @param type the type of component the plan will be applied to. Determines how bare objects in the configuration
+     *             are converted, just like the static type does for <code>configure</code>.
+     * @param configuration
+     * @return
+     */
+    public static ConfigurationPlan compile(Class<? extends Component> type, Object... configuration) {
+        List<Configurators.Configurator> steps = new ArrayList<>();
+        flatten(steps, SwingBuilderBase.mappingFor(type), configuration);
+        return new ConfigurationPlan(steps.toArray(new Configurators.Configurator[0]));
+    }
+
+    private static void flatten(List<Configurators.Configurator> steps, Function<Object, Object> mapFunction,
+                                Object... configuration) {
+        for (Object obj : configuration) {
+            if (obj == SwingBuilderBase.EXCLUDED) {
+                continue;
+            } else if (obj instanceof ConfigurationPlan) {
+                for (Configurators.Configurator step : ((ConfigurationPlan) obj).steps) steps.add(step);
+            } else if (obj instanceof Configurators.Configurator) {
+                steps.add((Configurators.Configurator) obj);
+            } else if (obj instanceof Object[]) {
+                flatten(steps, mapFunction, (Object[]) obj);
+            } else if (obj instanceof Collection) {
+                flatten(steps, mapFunction, ((Collection) obj).toArray());
+            } else {
+                Object newObject = mapFunction.apply(obj);
+                if (newObject != obj) {
+                    flatten(steps, Function.identity(), newObject);
+                } else {
+                    LOG.warn("unknown object in configuration, perhaps a configurator is missing: " + obj, new Exception("stack trace for warning"));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of configurators this plan runs each time it is applied.
+     */
+    public int size() {
+        return steps.length;
+    }
+
+    @Override
+    protected boolean requiresEDT(Component c) {
+        for (Configurators.Configurator step : steps) {
+            if (step.requiresEDT(c)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    protected void apply(Component c) {
+        for (Configurators.Configurator step : steps) {
+            step.apply(c);
+        }
+    }
+}
@@ -1,7 +1,15 @@
 package com.insilicalabs.swingbuilder;
 
 import com.insilicalabs.swingbuilder.components.ColorChooserButton;
+import com.insilicalabs.swingbuilder.components.FastTableCellRenderer;
+import com.insilicalabs.swingbuilder.components.VirtualRepeater;
+import com.insilicalabs.swingbuilder.models.DataTableModel;
+import com.insilicalabs.swingbuilder.models.ParallelRowSorter;
 import com.insilicalabs.swingbuilder.models.SBTableModel;
+import com.insilicalabs.swingbuilder.models.SearchFilter;
+import com.insilicalabs.swingbuilder.models.SearchIndex;
+import com.insilicalabs.swingbuilder.models.StreamingTableModel;
+import net.miginfocom.swing.MigLayout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,16 +24,19 @@ import javax.swing.text.BadLocationException;
 import javax.swing.text.JTextComponent;
 import java.awt.*;
 import java.awt.event.*;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
-import static com.insilicalabs.swingbuilder.SwingBuilderBase.isDummy;
+import static com.insilicalabs.swingbuilder.SwingBuilderBase.isExcluded;
 
 /**
  * Created by jzwolak on 3/5/16.
@@ -34,17 +45,28 @@ public class Configurators {
 
     private static final Logger LOG = LoggerFactory.getLogger(Configurators.class);
 
+    private static final OptionalMethod SET_SELECTED = new OptionalMethod("setSelected", boolean.class);
+    private static final OptionalMethod SET_ICON = new OptionalMethod("setIcon", Icon.class);
+    private static final OptionalMethod SET_TITLE = new OptionalMethod("setTitle", String.class);
+    private static final OptionalMethod SET_TEXT = new OptionalMethod("setText", String.class);
+    private static final OptionalMethod ADD_ACTION_LISTENER = new OptionalMethod("addActionListener", ActionListener.class);
+    private static final OptionalMethod SET_EDITABLE = new OptionalMethod("setEditable", boolean.class);
+    private static final OptionalMethod SET_MARGIN = new OptionalMethod("setMargin", Insets.class);
+    private static final Map<java.util.List<Object>, OptionalMethod> OPTIONAL_METHODS = new ConcurrentHashMap<>();
+    static final Object RECONCILE_KEY = new Object(); // client property holding a reconciled child's key
+    private static final Object SEARCH_FILTER_KEY = new Object(); // client property holding a table's SearchFilter
+
     public final static Configurator SELECTED = new Configurator() {
         @Override
         protected void apply(Component c) {
-            invokeIfPresent(c, "setSelected", new Class[]{boolean.class}, true);
+            SET_SELECTED.invoke(c, true);
         }
     };
 
     public final static Configurator UNSELECTED = new Configurator() {
         @Override
         protected void apply(Component c) {
-            invokeIfPresent(c, "setSelected", new Class[]{boolean.class}, false);
+            SET_SELECTED.invoke(c, false);
         }
     };
 
@@ -133,6 +155,12 @@ public class Configurators {
             protected void apply(Component c) {
                 c.setVisible(true);
             }
+
+            @Override
+            protected boolean requiresEDT(Component c) {
+                // Showing a Window realizes it, any other component just gets a flag until it is added to one.
+                return c instanceof Window;
+            }
         };
     }
 
@@ -142,6 +170,12 @@ public class Configurators {
             protected void apply(Component c) {
                 c.setVisible(visible);
             }
+
+            @Override
+            protected boolean requiresEDT(Component c) {
+                // As for show().
+                return c instanceof Window;
+            }
         };
     }
 
@@ -204,7 +238,7 @@ public class Configurators {
         return new Configurator() {
             @Override
             protected void apply(Component c) {
-                invokeIfPresent(c, "setIcon", new Class[]{Icon.class}, new Object[]{icon});
+                SET_ICON.invoke(c, icon);
             }
         };
     }
@@ -213,8 +247,7 @@ public class Configurators {
         return new Configurator() {
             @Override
             protected void apply(Component c) {
-                invokeIfPresent(c, "setIcon", new Class[]{Icon.class},
-                    new Object[]{new ImageIcon(getClass().getResource(location))});
+                SET_ICON.invoke(c, new ImageIcon(getClass().getResource(location)));
             }
         };
     }
@@ -223,7 +256,7 @@ public class Configurators {
         return new Configurator() {
             @Override
             protected void apply(Component c) {
-                invokeIfPresent(c, "setTitle", new Class[]{String.class}, title);
+                SET_TITLE.invoke(c, title);
             }
         };
     }
@@ -246,21 +279,57 @@ public class Configurators {
         return contents((Object[]) components.toArray(new JComponent[0]));
     }
 
+    /**
+     * For a scroll pane, shows one row per item in <code>items</code> while only creating components for the rows
+     * that are in view, see {@link VirtualRepeater}. Use in place of <code>contents(Collection, Function)</code> for
+     * large collections:
+     * <pre>
+     *     scrollPane(virtualContents(results, (r) -&gt; new ResultRow(), ResultRow::show))
+     * </pre>
+     * If the scroll pane already shows a VirtualRepeater, e.g. when bound with <code>ModelBinder</code>, its items
+     * and functions are replaced and its rows are reused. Every row is as tall as the tallest, see
+     * <code>VirtualRepeater</code>.
+     *
+     * @param items
+     * @param createFn creates a row component, only when there is no recycled row to reuse
+     * @param bindFn makes a row, new or recycled, show an item
+     * @param <T>
+     * @param <C>
+     * @return
+     */
+    public static <T, C extends JComponent> Configurator virtualContents(java.util.List<T> items,
+                                                                         Function<? super T, C> createFn,
+                                                                         BiConsumer<? super T, ? super C> bindFn) {
+        return new Configurator() {
+            @Override
+            @SuppressWarnings("unchecked")
+            protected void apply(Component c) {
+                JScrollPane scrollPane = (JScrollPane) c;
+                Component view = scrollPane.getViewport().getView();
+                VirtualRepeater<T, C> repeater;
+                if (view instanceof VirtualRepeater) {
+                    repeater = (VirtualRepeater<T, C>) view;
+                    repeater.setRowFunctions(createFn, bindFn);
+                } else {
+                    repeater = new VirtualRepeater<>(createFn, bindFn);
+                    scrollPane.setViewportView(repeater);
+                }
+                repeater.setItems(items);
+            }
+        };
+    }
+
     public static Configurator contents(Object... objects) {
         return new Configurator() {
             private void addComponents(Container container, final Object... components) {
-                Function<Integer, Integer> skipDummies = (index) -> {
-                    while ( index < components.length && isDummy(components[index]) ) index++;
-                    return index;
-                };
-                int i = skipDummies.apply(0);
+                int i = skipExcluded(components, 0);
                 while ( i < components.length ) {
                     Object object = components[i];
                     int objectIndex = i;
-                    i = skipDummies.apply(i+1);
+                    i = skipExcluded(components, i+1);
                     Component child;
                     if (object instanceof Object[]) {
-                        LOG.info("component " + objectIndex + " is an array: " + object);
+                        if (LOG.isInfoEnabled()) LOG.info("component " + objectIndex + " is an array: " + object);
                         addComponents(container, (Object[]) object);
                         continue;
                     } else if (object instanceof Creators.Creator) {
@@ -268,7 +337,7 @@ public class Configurators {
                     } else if (object instanceof Component) {
                         child = (Component) object;
                     } else if (object instanceof Collection) {
-                        LOG.info("component " + objectIndex + " is a collection: " + object);
+                        if (LOG.isInfoEnabled()) LOG.info("component " + objectIndex + " is a collection: " + object);
                         addComponents(container, ((Collection)object).toArray());
                         continue;
                     } else {
@@ -279,9 +348,13 @@ public class Configurators {
                     // if next component is string, then consider it layout constraint, otherwise, just add the child
                     // w/o layout constraints.
                     if (i < components.length && components[i] instanceof String) {
-                        // apply MigLayout constraint
-                        container.add(child, components[i]);
-                        i = skipDummies.apply(i+1);
+                        // apply MigLayout constraint, parsed once and cached when the layout is MigLayout, each child gets a copy
+                        Object constraint = components[i];
+                        if (container.getLayout() instanceof MigLayout) {
+                            constraint = MigConstraints.component((String) constraint);
+                        }
+                        container.add(child, constraint);
+                        i = skipExcluded(components, i+1);
                     } else {
                         container.add(child);
                     }
@@ -298,15 +371,22 @@ public class Configurators {
                 }
                 addComponents(container, objects);
                 if ( container.isVisible() ) {
-                    // revalidate causes layout to be redone
-                    container.revalidate();
-                    // repaint causes the container to cover removed components that are not covered by relaying out.
-                    container.repaint();
+                    // revalidate and repaint, or leave it to the end of the enclosing SwingBuilderBase.batchLayout
+                    LayoutBatch.changed(container);
                 }
             }
         };
     }
 
+    /**
+     * @return the index of the first element at or after <code>index</code> that has not been excluded with
+     * <code>includeWhen</code> (or is not a dummy).
+     */
+    private static int skipExcluded(Object[] components, int index) {
+        while ( index < components.length && isExcluded(components[index]) ) index++;
+        return index;
+    }
+
     public static Configurator replacecontents(java.util.List list) {
         return replacecontents(list.toArray(new Object[0]));
     }
@@ -316,8 +396,87 @@ public class Configurators {
             @Override
             protected void apply(Component c) {
                 Container container = (Container) c;
+                Component[] removed = container.getComponents();
                 container.removeAll();
                 contents(objects).apply(c);
+                for (Component child : removed) {
+                    // Anything passed in again was re-added above and is still in use.
+                    if (child.getParent() == null) ComponentPool.release(child);
+                }
+            }
+        };
+    }
+
+    /**
+     * Makes the children of the container match <code>items</code>, in order, by key rather than rebuilding them. A
+     * child whose key is still present is reused (passed to <code>updateFn</code> and moved into place without being
+     * removed from the container, so focus, scroll and caret state survive), a child is created with
+     * <code>createFn</code> only for a new key, and only children whose keys are gone are removed. Work is
+     * proportional to what changed rather than to the size of the list. Meant to be bound with
+     * <code>ModelBinder</code>:
+     * <pre>
+     *     panel(cards.bind((list) -&gt; reconcile(list, Card::getId, CardView::create, CardView::update)))
+     * </pre>
+     * Children not created by a <code>reconcile</code> (e.g. from an earlier <code>contents</code>) are removed the
+     * first time it is applied.
+     *
+     * @param items
+     * @param keyFn returns a non-null key for an item, compared with equals
+     * @param createFn creates the child for a new item
+     * @param updateFn updates a reused child with its, possibly changed, item
+     * @param <T>
+     * @param <K>
+     * @param <C>
+     * @return
+     */
+    public static <T, K, C extends JComponent> Configurator reconcile(java.util.List<T> items,
+                                                                      Function<? super T, K> keyFn,
+                                                                      Function<? super T, C> createFn,
+                                                                      BiConsumer<? super T, ? super C> updateFn) {
+        return new Configurator() {
+            @Override
+            @SuppressWarnings("unchecked")
+            protected void apply(Component aComponent) {
+                final Container container;
+                if (aComponent instanceof RootPaneContainer) {
+                    container = ((RootPaneContainer) aComponent).getContentPane();
+                } else {
+                    container = (Container) aComponent;
+                }
+                Map<Object, JComponent> existing = new HashMap<>();
+                for (Component child : container.getComponents()) {
+                    if (child instanceof JComponent) {
+                        Object key = ((JComponent) child).getClientProperty(RECONCILE_KEY);
+                        if (key != null) existing.putIfAbsent(key, (JComponent) child);
+                    }
+                }
+                boolean changed = false;
+                int index = 0;
+                for (T item : items) {
+                    K key = keyFn.apply(item);
+                    JComponent child = existing.remove(key);
+                    if (child != null) {
+                        updateFn.accept(item, (C) child);
+                        if (container.getComponent(index) != child) {
+                            // Moves without removeNotify, unlike remove followed by add.
+                            container.setComponentZOrder(child, index);
+                            changed = true;
+                        }
+                    } else {
+                        child = createFn.apply(item);
+                        child.putClientProperty(RECONCILE_KEY, key);
+                        container.add(child, index);
+                        changed = true;
+                    }
+                    index++;
+                }
+                for (int i = container.getComponentCount() - 1; i >= index; i--) {
+                    container.remove(i);
+                    changed = true;
+                }
+                if ( changed && container.isVisible() ) {
+                    LayoutBatch.changed(container);
+                }
             }
         };
     }
@@ -352,6 +511,11 @@ public class Configurators {
             protected void apply(Component c) {
                 ((Window) c).pack();
             }
+
+            @Override
+            protected boolean requiresEDT(Component c) {
+                return true;
+            }
         };
     }
 
@@ -409,7 +573,7 @@ public class Configurators {
         return new Configurator() {
             @Override
             protected void apply(Component c) {
-                invokeIfPresent(c, "setText", new Class[]{String.class}, t);
+                SET_TEXT.invoke(c, t);
             }
         };
     }
@@ -726,7 +890,7 @@ public class Configurators {
         return new Configurator() {
             @Override
             protected void apply(Component c) {
-                invokeIfPresent(c, "addActionListener", new Class[]{ActionListener.class}, al);
+                ADD_ACTION_LISTENER.invoke(c, al);
             }
         };
     }
@@ -802,7 +966,7 @@ public class Configurators {
         return new Configurator() {
             @Override
             protected void apply(Component c) {
-                invokeIfPresent(c, "setEditable", new Class[]{boolean.class}, new Object[]{editable});
+                SET_EDITABLE.invoke(c, editable);
             }
         };
     }
@@ -847,7 +1011,7 @@ public class Configurators {
         return new Configurator() {
             @Override
             protected void apply(Component c) {
-                invokeIfPresent(c, "setMargin", new Class[]{Insets.class}, new Insets(top, left, bottom, right));
+                SET_MARGIN.invoke(c, new Insets(top, left, bottom, right));
             }
         };
     }
@@ -1009,13 +1173,194 @@ public class Configurators {
         };
     }
 
+    /**
+     * Replaces the table's model, by default an <code>SBTableModel</code>, for instance with a
+     * <code>ColumnarTableModel</code>. A bare <code>TableModel</code> in a table's configuration does the same. Give it
+     * before <code>data</code> and <code>columnNames</code>, which apply to whichever model the table has. A
+     * <code>StreamingTableModel</code> drains arrived rows while the table is displayable.
+     *
+     * @param model
+     * @return
+     */
+    public static Configurator tableModel(javax.swing.table.TableModel model) {
+        return new Configurator() {
+            @Override
+            protected void apply(Component c) {
+                ((JTable) c).setModel(model);
+                if (model instanceof StreamingTableModel) ((StreamingTableModel) model).runWhileDisplayable((JTable) c);
+            }
+        };
+    }
+
+    /**
+     * Sorts the table, which must have an <code>SBTableModel</code>, with a <code>ParallelRowSorter</code>: clicking a
+     * column header sorts on a background fork-join pool rather than on the EDT, so large tables stay responsive.
+     *
+     * @return
+     */
+    public static Configurator parallelSort() {
+        return new Configurator() {
+            @Override
+            protected void apply(Component c) {
+                JTable table = (JTable) c;
+                table.setRowSorter(new ParallelRowSorter((SBTableModel) table.getModel()));
+            }
+        };
+    }
+
+    /**
+     * Shows only the rows of the table for which <code>rowFilter</code> is true, given the element of the data for the
+     * row. Filtering happens off the EDT, so <code>rowFilter</code> must not touch Swing. Adds a
+     * <code>ParallelRowSorter</code> if the table does not have one yet. Meant to be bound to a search field's text:
+     * <pre>
+     *     binder.bind((m) -&gt; filter((row) -&gt; ((Person) row).name.contains(m.search)))
+     * </pre>
+     *
+     * @param rowFilter
+     * @return
+     */
+    public static Configurator filter(java.util.function.Predicate<Object> rowFilter) {
+        return new Configurator() {
+            @Override
+            protected void apply(Component c) {
+                JTable table = (JTable) c;
+                if (!(table.getRowSorter() instanceof ParallelRowSorter)) parallelSort().apply(c);
+                ((ParallelRowSorter) table.getRowSorter()).setFilter(rowFilter);
+            }
+        };
+    }
+
+    /**
+     * Shows only the rows of the table whose text contains <code>query</code>, found with <code>index</code> (an index
+     * of the table's model) off the EDT; an empty query shows all rows. The rows shown follow changes to the model, and
+     * only the latest query's are ever shown. Adds a <code>ParallelRowSorter</code> if the table does not have one yet.
+     * Meant to be bound to a search field's text:
+     * <pre>
+     *     SearchIndex index = SearchIndex.forTable(model);
+     *     binder.bind((m) -&gt; searchFilter(index, m.search))
+     * </pre>
+     *
+     * @param index
+     * @param query
+     * @return
+     */
+    public static Configurator searchFilter(SearchIndex index, String query) {
+        return new Configurator() {
+            @Override
+            protected void apply(Component c) {
+                JTable table = (JTable) c;
+                if (!(table.getRowSorter() instanceof ParallelRowSorter)) parallelSort().apply(c);
+                ParallelRowSorter sorter = (ParallelRowSorter) table.getRowSorter();
+                SearchFilter filter = (SearchFilter) table.getClientProperty(SEARCH_FILTER_KEY);
+                if (filter == null || filter.getIndex() != index || filter.getSorter() != sorter) {
+                    if (filter != null) filter.dispose();
+                    filter = new SearchFilter(index, sorter);
+                    table.putClientProperty(SEARCH_FILTER_KEY, filter);
+                }
+                filter.setQuery(query);
+            }
+        };
+    }
+
+    /**
+     * Selects the next row of a JTable, or item of a JList, after the selected one whose text contains
+     * <code>query</code> and scrolls it into view, wrapping around to the start. The search, with <code>index</code>
+     * (an index of the component's model, or for a JList, <code>SearchIndex.forList(list)</code>, which follows the
+     * list to new models), happens off the EDT. Nothing changes when nothing matches. For find as you type and "find
+     * next" actions.
+     *
+     * @param index
+     * @param query
+     * @return
+     */
+    public static Configurator selectNextMatch(SearchIndex index, String query) {
+        return new Configurator() {
+            @Override
+            protected void apply(Component c) {
+                if (query == null || query.isEmpty()) return;
+                if (c instanceof JTable) {
+                    JTable table = (JTable) c;
+                    int selected = table.getSelectedRow();
+                    int after = selected < 0 ? -1 : table.convertRowIndexToModel(selected);
+                    index.nextMatch(query, after).thenAccept((row) -> SwingUtilities.invokeLater(() -> {
+                        int view = row < 0 || row >= table.getModel().getRowCount()
+                            ? -1 : table.convertRowIndexToView(row);
+                        if (view < 0) return;
+                        table.setRowSelectionInterval(view, view);
+                        table.scrollRectToVisible(table.getCellRect(view, 0, true));
+                    }));
+                } else {
+                    JList<?> list = (JList<?>) c;
+                    index.nextMatch(query, list.getSelectedIndex()).thenAccept((item) -> SwingUtilities.invokeLater(
+                        () -> {
+                            if (item < 0 || item >= list.getModel().getSize()) return;
+                            list.setSelectedIndex(item);
+                            list.ensureIndexIsVisible(item);
+                        }));
+                }
+            }
+        };
+    }
+
+    /**
+     * Keeps the last row of the table in view as rows are added, for logs and streams such as a
+     * <code>StreamingTableModel</code>, unless the user has scrolled away from the end. Give it after the table's model
+     * is set.
+     *
+     * @return
+     */
+    public static Configurator followTail() {
+        return new Configurator() {
+            @Override
+            protected void apply(Component c) {
+                JTable table = (JTable) c;
+                table.getModel().addTableModelListener((e) -> {
+                    // Listeners are told in reverse order of being added, so the table has not grown yet.
+                    Rectangle visible = table.getVisibleRect();
+                    boolean atEnd = visible.y + visible.height >= table.getHeight() - table.getRowHeight();
+                    if (!atEnd) return;
+                    SwingUtilities.invokeLater(() -> {
+                        int last = table.getRowCount() - 1;
+                        if (last >= 0) table.scrollRectToVisible(table.getCellRect(last, 0, true));
+                    });
+                });
+            }
+        };
+    }
+
+    /**
+     * Sets the rows of the table's <code>DataTableModel</code>. The columns are only rebuilt if their number changed,
+     * which keeps selection, column widths and renderers intact when bound with <code>ModelBinder</code> to live
+     * data.
+     *
+     * @param data
+     * @return
+     */
     public static Configurator data(java.util.List data) {
+        return data(data, false);
+    }
+
+    /**
+     * Like <code>data(List)</code>. When <code>keptRowsUnchanged</code> is true and the model is an
+     * <code>SBTableModel</code>, the rows are compared with the old ones by identity and only those that differ are
+     * repainted. Only pass true when rows are never modified in place, see <code>SBTableModel.setData(List,
+     * boolean)</code>.
+     *
+     * @param data
+     * @param keptRowsUnchanged
+     * @return
+     */
+    public static Configurator data(java.util.List data, boolean keptRowsUnchanged) {
         return new Configurator() {
             @Override
             protected void apply(Component c) {
                 JTable table = (JTable) c;
-                SBTableModel model = (SBTableModel) table.getModel();
-                model.setData(data);
+                DataTableModel model = (DataTableModel) table.getModel();
+                if (model instanceof SBTableModel) {
+                    ((SBTableModel) model).setData(data, keptRowsUnchanged);
+                } else {
+                    model.setData(data);
+                }
             }
         };
     }
@@ -1031,12 +1376,49 @@ public class Configurators {
         };
     }
 
-    public static Configurator columnNames(java.util.List<String> names) {
+    /**
+     * Adds a column to the table's <code>SBTableModel</code> whose cells are <code>cellFn</code> applied to each row.
+     * Unlike <code>row</code>, no array is built per row. Use one or the other, not both.
+     *
+     * @param name
+     * @param cellFn
+     * @return
+     */
+    public static Configurator column(String name, Function<Object, Object> cellFn) {
+        return new Configurator() {
+            @Override
+            protected void apply(Component c) {
+                JTable table = (JTable) c;
+                SBTableModel model = (SBTableModel) table.getModel();
+                model.addColumn(name, cellFn);
+            }
+        };
+    }
+
+    /**
+     * Caches up to <code>size</code> row projections made by the <code>row</code> function of the table's
+     * <code>SBTableModel</code>, so painting a row runs the function once rather than once per column.
+     *
+     * @param size
+     * @return
+     */
+    public static Configurator rowCache(int size) {
         return new Configurator() {
             @Override
             protected void apply(Component c) {
                 JTable table = (JTable) c;
                 SBTableModel model = (SBTableModel) table.getModel();
+                model.setRowCacheSize(size);
+            }
+        };
+    }
+
+    public static Configurator columnNames(java.util.List<String> names) {
+        return new Configurator() {
+            @Override
+            protected void apply(Component c) {
+                JTable table = (JTable) c;
+                DataTableModel model = (DataTableModel) table.getModel();
                 model.setColumnNames(names);
             }
         };
@@ -1069,6 +1451,33 @@ public class Configurators {
         };
     }
 
+    /**
+     * Replaces the table's default renderers for numbers, dates and booleans with <code>FastTableCellRenderer</code>s,
+     * which paint their text directly and format each value only once. Give it before any <code>renderer</code> for
+     * those classes.
+     * <p>
+     *     Default renderers are picked by the model's <code>getColumnClass</code>. <code>SBTableModel</code> reports
+     *     every column as <code>Object</code>, so this has no effect on its tables. Set the renderers on their columns
+     *     instead, e.g. <code>table.getColumnModel().getColumn(2).setCellRenderer(FastTableCellRenderer.number())</code>.
+     * </p>
+     *
+     * @return
+     */
+    public static Configurator fastRenderers() {
+        return new Configurator() {
+            @Override
+            protected void apply(Component c) {
+                JTable table = (JTable) c;
+                FastTableCellRenderer number = FastTableCellRenderer.number();
+                table.setDefaultRenderer(Number.class, number);
+                table.setDefaultRenderer(Double.class, number);
+                table.setDefaultRenderer(Float.class, number);
+                table.setDefaultRenderer(java.util.Date.class, FastTableCellRenderer.date("yyyy-MM-dd HH:mm:ss"));
+                table.setDefaultRenderer(Boolean.class, FastTableCellRenderer.bool());
+            }
+        };
+    }
+
     /**
      * Sets the items for a JComboBox or a JList. The two perform differently.
      * <p>For JComboBox:
@@ -1233,7 +1642,8 @@ public class Configurators {
     /**
      * If method with <code>name</code> is present, invoke it.  Otherwise, do nothing.
      * When searching for the method, the leaf of the class hierarchy is used and the
-     * method arguments must also match <code>argTypes</code>.
+     * method arguments must also match <code>argTypes</code>. The lookup, or the fact that
+     * the method is missing, is cached per class.
      *
      * @param c
      * @param name
@@ -1241,19 +1651,10 @@ public class Configurators {
      * @param args
      */
     protected static void invokeIfPresent(Component c, String name, Class[] argTypes, Object... args) {
-        try {
-            Method method;
-            method = c.getClass().getMethod(name, argTypes);
-            method.invoke(c, args);
-        } catch (NoSuchMethodException e) {
-            // Not an error... just don't call the not present method.
-            LOG.info("method not present: " + name);
-        } catch (InvocationTargetException | IllegalAccessException e) {
-            // This may not be an error either, but let's let the developer know.
-            LOG.warn("The following exception may be okay, but it also may be unexpected.  " +
-                "Please verify that the method \"" + name + "\" can be called on " + c.getClass().getName() +
-                " and that is your intent.", e);
-        }
+        java.util.List<Object> key = new ArrayList<>(argTypes.length + 1);
+        key.add(name);
+        key.addAll(Arrays.asList(argTypes));
+        OPTIONAL_METHODS.computeIfAbsent(key, k -> new OptionalMethod(name, argTypes)).invoke(c, args);
     }
 
     public interface FocusEventListener {
@@ -1287,19 +1688,37 @@ public class Configurators {
 
     public static abstract class Configurator {
         public final void applyOnEDT(Component c) {
-            if (SwingUtilities.isEventDispatchThread()) {
+            if (!requiresEDT(c) && SwingBuilderBase.canConfigureDetached(c)) {
                 apply(c);
             } else {
-                try {
-                    SwingUtilities.invokeAndWait(() -> apply(c));
-                } catch (InterruptedException e) {
-                    throw new RuntimeException(e);
-                } catch (InvocationTargetException e) {
-                    throw new RuntimeException(e);
-                }
+                SwingBuilderBase.invokeAndWaitOnEDT(() -> apply(c));
             }
         }
 
+        /**
+         * Override and return true if this configurator makes <code>c</code> displayable or otherwise must run on the
+         * EDT even when <code>c</code> is not displayable yet, e.g. <code>pack()</code>, or <code>show()</code> on a
+         * Window. Only matters when detached build is on.
+         *
+         * @param c
+         * @return
+         */
+        protected boolean requiresEDT(Component c) {
+            return false;
+        }
+
+        /**
+         * Queues this configurator on the EDT and returns without waiting. The future completes with <code>c</code>
+         * once applied, or exceptionally if applying it threw.
+         *
+         * @param c
+         * @param <T>
+         * @return
+         */
+        public final <T extends Component> CompletableFuture<T> applyLater(T c) {
+            return SwingBuilderBase.invokeLaterOnEDT(() -> apply(c)).thenApply(v -> c);
+        }
+
         /**
          * Do not call this method directly... it should be called within SwingBuilder, only.
          * The intent of this method is to be overridden by a configurator that sets some
@@ -0,0 +1,91 @@
+package com.insilicalabs.swingbuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Converters from bare configuration objects (Strings, Components, Borders, ...) to configurators, keyed by the
+ * runtime class of the component being configured and the runtime class of the object. Both lookups are cached in
+ * ClassValues, so converting an object is two table hits once warmed up.
+ * <p>
+ *     For a given component class the converters registered for that class are tried first, then those for its
+ *     superclass and so on. Within one component class, the most recently registered converter wins. This lets
+ *     applications add converters for their own components and override the built in ones.
+ * </p>
+ */
+final class ConverterRegistry {
+
+    private final List<Registration> registrations = new ArrayList<>(); // newest first, guarded by this
+    private volatile ClassValue<Function<Object, Object>> mappings = newMappings();
+
+    synchronized void register(Class<?> componentType, Class<?> argType, Function<Object, Object> converter) {
+        registrations.add(0, new Registration(componentType, argType, converter));
+        // Registration is rare (usually at startup) so just throw away everything cached so far.
+        mappings = newMappings();
+    }
+
+    Function<Object, Object> mappingFor(Class<?> componentType) {
+        return mappings.get(componentType);
+    }
+
+    private ClassValue<Function<Object, Object>> newMappings() {
+        return new ClassValue<Function<Object, Object>>() {
+            @Override
+            protected Function<Object, Object> computeValue(Class<?> type) {
+                List<Registration> applicable = applicableTo(type);
+                if (applicable.isEmpty()) return Function.identity();
+                return new Mapping(applicable.toArray(new Registration[0]));
+            }
+        };
+    }
+
+    private synchronized List<Registration> applicableTo(Class<?> type) {
+        List<Registration> applicable = new ArrayList<>();
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (Registration r : registrations) {
+                if (r.componentType == c) applicable.add(r);
+            }
+        }
+        // Anything registered against an interface comes after the class hierarchy.
+        for (Registration r : registrations) {
+            if (r.componentType.isInterface() && r.componentType.isAssignableFrom(type)) applicable.add(r);
+        }
+        return applicable;
+    }
+
+    private static final class Registration {
+        private final Class<?> componentType;
+        private final Class<?> argType;
+        private final Function<Object, Object> converter;
+
+        private Registration(Class<?> componentType, Class<?> argType, Function<Object, Object> converter) {
+            this.componentType = componentType;
+            this.argType = argType;
+            this.converter = converter;
+        }
+    }
+
+    private static final class Mapping implements Function<Object, Object> {
+        private final Registration[] registrations;
+        private final ClassValue<Function<Object, Object>> converters = new ClassValue<Function<Object, Object>>() {
+            @Override
+            protected Function<Object, Object> computeValue(Class<?> argClass) {
+                for (Registration r : registrations) {
+                    if (r.argType.isAssignableFrom(argClass)) return r.converter;
+                }
+                return Function.identity();
+            }
+        };
+
+        private Mapping(Registration[] registrations) {
+            this.registrations = registrations;
+        }
+
+        @Override
+        public Object apply(Object e) {
+            if (e == null) return null;
+            return converters.get(e.getClass()).apply(e);
+        }
+    }
+}
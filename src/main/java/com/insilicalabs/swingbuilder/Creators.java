@@ -3,6 +3,8 @@ package com.insilicalabs.swingbuilder;
 import com.insilicalabs.swingbuilder.components.ColorChooserButton;
 import com.insilicalabs.swingbuilder.models.SBTableModel;
 import net.miginfocom.swing.MigLayout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.swing.JButton;
 import javax.swing.JCheckBox;
@@ -24,8 +26,18 @@ import javax.swing.JTextArea;
 import javax.swing.JTextField;
 import javax.swing.JToggleButton;
 import javax.swing.JToolBar;
+import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
+import java.awt.BorderLayout;
 import java.awt.Component;
 import java.awt.Dialog;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 
 import static com.insilicalabs.swingbuilder.Configurators.OwnerConfigurator;
 import static com.insilicalabs.swingbuilder.Configurators.contentPane;
@@ -37,13 +49,23 @@ import static com.insilicalabs.swingbuilder.Configurators.pack;
  * Created by jzwolak on 3/5/16.
  */
 public class Creators {
+    private final static Logger LOG = LoggerFactory.getLogger(Creators.class);
+
     public static MigLayout migLayout() { return new MigLayout(); }
+
+    /**
+     * Creates a MigLayout from constraint Strings. Each String is parsed once and cached, and every layout created from
+     * it gets its own copy of the result.
+     */
     public static MigLayout migLayout(
         String layoutContraints,
         String columnConstraints,
         String rowConstraints
     ) {
-        return new MigLayout(layoutContraints,columnConstraints,rowConstraints);
+        return new MigLayout(
+            MigConstraints.layout(layoutContraints),
+            MigConstraints.columns(columnConstraints),
+            MigConstraints.rows(rowConstraints));
     }
 
     public static Creator separator(Object... configuration) {
@@ -61,7 +83,7 @@ public class Creators {
     }
 
     public static JLabel label(Object... configuration) {
-        return SwingBuilderBase.configure(new JLabel(), configuration);
+        return SwingBuilderBase.configure(ComponentPool.obtain(JLabel.class, JLabel::new), configuration);
     }
 
     public static JList list(Object... configuration) {
@@ -92,11 +114,18 @@ public class Creators {
 
     public static JSplitPane splitPane(Object... configuration) {
         JSplitPane sp = new JSplitPane();
-        sp.setLeftComponent(dummy());
-        sp.setRightComponent(dummy());
+        // JSplitPane starts out with two placeholder buttons, an empty side is what gets filled by configure.
+        sp.setLeftComponent(null);
+        sp.setRightComponent(null);
         return SwingBuilderBase.configure(sp, configuration);
     }
 
+    /**
+     * A placeholder component that <code>contents</code> skips. Prefer <code>SwingBuilderBase.EXCLUDED</code>, which
+     * does the same without creating a component.
+     *
+     * @return
+     */
     public static Component dummy() {
         return new JLabel(SwingBuilderBase.DUMMY_COMPONENT_TAG);
     }
@@ -116,7 +145,7 @@ public class Creators {
     }
 
     public static JButton button(Object... configuration) {
-        return SwingBuilderBase.configure(new JButton(), configuration);
+        return SwingBuilderBase.configure(ComponentPool.obtain(JButton.class, JButton::new), configuration);
     }
 
     public static JComboBox comboBox(Object... configuration) {
@@ -144,7 +173,7 @@ public class Creators {
     }
 
     public static JPanel panel(Object... configuration) {
-        return SwingBuilderBase.configure(new JPanel(), layout(migLayout()), configuration);
+        return SwingBuilderBase.configure(ComponentPool.obtain(JPanel.class, JPanel::new), layout(migLayout()), configuration);
     }
 
     public static JDialog dialog(Object... configuration) {
@@ -162,6 +191,116 @@ public class Creators {
         }
     }
 
+    /**
+     * Builds independent sibling subtrees concurrently on the common fork-join pool. See
+     * {@link #parallel(Executor, Object...)}.
+     *
+     * @param subtrees
+     * @return
+     */
+    public static Object[] parallel(Object... subtrees) {
+        return parallel(ForkJoinPool.commonPool(), subtrees);
+    }
+
+    /**
+     * Builds independent sibling subtrees concurrently and returns them in declaration order, ready to be passed to
+     * <code>contents</code> or a creator like <code>panel</code>. Each <code>Supplier</code> in <code>subtrees</code>
+     * is called on <code>executor</code> in detached build mode (see <code>SwingBuilderBase.buildDetached</code>), so
+     * none of the building waits on the EDT. Anything else, like MigLayout constraint Strings, is passed through
+     * as is. For example:
+     * <pre>
+     *     panel(parallel(
+     *         (Supplier&lt;JPanel&gt;) () -&gt; panel(table(...)), "grow",
+     *         (Supplier&lt;JPanel&gt;) () -&gt; panel(editorPane(...)), "grow, wrap"
+     *     ))
+     * </pre>
+     * This blocks until every subtree is built. When it is called on the EDT, a subtree that needs the EDT while being
+     * built, e.g. by configuring a displayable component or packing a Window, throws IllegalStateException instead of
+     * waiting on the blocked EDT forever.
+     *
+     * @param executor
+     * @param subtrees
+     * @return
+     */
+    public static Object[] parallel(Executor executor, Object... subtrees) {
+        boolean edtWaits = SwingBuilderBase.isEdtWaitingOnThisThread();
+        Object[] results = new Object[subtrees.length];
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[subtrees.length];
+        for (int i = 0; i < subtrees.length; i++) {
+            if (subtrees[i] instanceof Supplier) {
+                Supplier<?> subtree = (Supplier<?>) subtrees[i];
+                futures[i] = CompletableFuture.supplyAsync(() -> SwingBuilderBase.buildDetached(subtree, edtWaits),
+                    executor);
+            } else {
+                results[i] = subtrees[i];
+            }
+        }
+        for (int i = 0; i < subtrees.length; i++) {
+            if (futures[i] == null) continue;
+            try {
+                results[i] = futures[i].join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+                throw e;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * A cheap placeholder that builds its real contents with <code>builder</code> the first time it is showing. Use it
+     * anywhere a component goes, e.g. <code>pane("Reports", lazy(() -&gt; reportsPanel()))</code> in a tabbed pane,
+     * so tabs nobody opens are never built.
+     *
+     * @param builder
+     * @return
+     */
+    public static JPanel lazy(Supplier<? extends Component> builder) {
+        return lazy(builder, null);
+    }
+
+    /**
+     * Like {@link #lazy(Supplier)}, but when <code>executor</code> is not null the contents are built on it, in
+     * detached build mode, while the placeholder shows a loading message. The built contents are put in place on the
+     * EDT.
+     *
+     * @param builder
+     * @param executor
+     * @return
+     */
+    public static JPanel lazy(Supplier<? extends Component> builder, Executor executor) {
+        JPanel placeholder = new JPanel(new BorderLayout());
+        placeholder.addHierarchyListener(new HierarchyListener() {
+            @Override
+            public void hierarchyChanged(HierarchyEvent e) {
+                if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) == 0 || !placeholder.isShowing()) return;
+                placeholder.removeHierarchyListener(this);
+                if (executor == null) {
+                    replaceLazyContents(placeholder, builder.get());
+                    return;
+                }
+                replaceLazyContents(placeholder, new JLabel("Loading...", SwingConstants.CENTER));
+                CompletableFuture.supplyAsync(() -> SwingBuilderBase.buildDetached(builder), executor)
+                    .whenComplete((contents, ex) -> SwingUtilities.invokeLater(() -> {
+                        if (ex != null) {
+                            LOG.error("could not build lazy contents", ex);
+                            replaceLazyContents(placeholder, new JLabel("Could not load.", SwingConstants.CENTER));
+                        } else {
+                            replaceLazyContents(placeholder, contents);
+                        }
+                    }));
+            }
+        });
+        return placeholder;
+    }
+
+    private static void replaceLazyContents(JPanel placeholder, Component contents) {
+        placeholder.removeAll();
+        placeholder.add(contents, BorderLayout.CENTER);
+        placeholder.revalidate();
+        placeholder.repaint();
+    }
+
     public static JFrame frame(Object... configuration) {
         return SwingBuilderBase.configure(new JFrame(), contentPane(panel()), configuration);
     }
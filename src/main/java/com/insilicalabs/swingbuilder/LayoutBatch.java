@@ -0,0 +1,83 @@
+package com.insilicalabs.swingbuilder;
+
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+import java.awt.Container;
+import java.awt.Rectangle;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects the containers whose contents changed during <code>SwingBuilderBase.batchLayout</code> and lays each
+ * affected validate root out once, with a single repaint of the union of the changed areas, when the outermost batch
+ * ends. Only touched on the EDT: containers changed on other threads, e.g. by a detached or parallel build, or that
+ * are not displayable are revalidated and repainted right away as outside a batch, never collected.
+ */
+final class LayoutBatch {
+
+    private static int depth = 0;
+    private static final Set<Container> changed = new LinkedHashSet<>();
+
+    private LayoutBatch() {
+    }
+
+    static void run(Runnable r) {
+        depth++;
+        try {
+            r.run();
+        } finally {
+            if (--depth == 0) flush();
+        }
+    }
+
+    /**
+     * Revalidates and repaints <code>container</code> now, or at the end of the current batch if there is one.
+     *
+     * @param container
+     */
+    static void changed(Container container) {
+        if (SwingUtilities.isEventDispatchThread() && depth > 0 && container.isDisplayable()) {
+            changed.add(container);
+        } else {
+            // revalidate causes layout to be redone
+            container.revalidate();
+            // repaint causes the container to cover removed components that are not covered by relaying out.
+            container.repaint();
+        }
+    }
+
+    private static void flush() {
+        if (changed.isEmpty()) return;
+        Map<Container, Rectangle> dirtyByRoot = new LinkedHashMap<>();
+        for (Container container : changed) {
+            // Marks the container and its ancestors invalid up to the validate root, which is then validated once.
+            container.invalidate();
+            Container root = validateRoot(container);
+            Rectangle bounds = container == root
+                ? new Rectangle(0, 0, root.getWidth(), root.getHeight())
+                : SwingUtilities.convertRectangle(container.getParent(), container.getBounds(), root);
+            dirtyByRoot.merge(root, bounds, Rectangle::union);
+        }
+        changed.clear();
+        for (Map.Entry<Container, Rectangle> entry : dirtyByRoot.entrySet()) {
+            Container root = entry.getKey();
+            if (root instanceof JComponent) {
+                ((JComponent) root).revalidate();
+            } else {
+                root.validate();
+            }
+            Rectangle dirty = entry.getValue();
+            root.repaint(dirty.x, dirty.y, dirty.width, dirty.height);
+        }
+    }
+
+    private static Container validateRoot(Container c) {
+        Container root = c;
+        while (!root.isValidateRoot() && root.getParent() != null) {
+            root = root.getParent();
+        }
+        return root;
+    }
+}
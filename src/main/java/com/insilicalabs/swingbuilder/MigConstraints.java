@@ -0,0 +1,152 @@
+package com.insilicalabs.swingbuilder;
+
+import net.miginfocom.layout.AC;
+import net.miginfocom.layout.CC;
+import net.miginfocom.layout.ConstraintParser;
+import net.miginfocom.layout.DimConstraint;
+import net.miginfocom.layout.LC;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded, thread safe caches of parsed MigLayout constraints keyed by the constraint String. The same forms are built
+ * over and over with the same handful of constraints ("wrap", "growx", "span 2", ...), and MigLayout parses the String
+ * every time it is given one. The parsed objects are mutable, and MigLayout hands them back from
+ * <code>getComponentConstraints</code> and friends, so the cached ones are never given out. Each caller gets its own
+ * copy, made with plain getters and setters, which is far cheaper than parsing again.
+ */
+final class MigConstraints {
+
+    private static final int MAX_ENTRIES = 1024;
+
+    private static final Map<String, CC> COMPONENT = lruCache();
+    private static final Map<String, LC> LAYOUT = lruCache();
+    private static final Map<String, AC> COLUMNS = lruCache();
+    private static final Map<String, AC> ROWS = lruCache();
+
+    private MigConstraints() {
+    }
+
+    static CC component(String constraint) {
+        return copy(get(COMPONENT, constraint, ConstraintParser::parseComponentConstraint));
+    }
+
+    static LC layout(String constraint) {
+        return copy(get(LAYOUT, constraint, ConstraintParser::parseLayoutConstraint));
+    }
+
+    static AC columns(String constraint) {
+        return copy(get(COLUMNS, constraint, ConstraintParser::parseColumnConstraints));
+    }
+
+    static AC rows(String constraint) {
+        return copy(get(ROWS, constraint, ConstraintParser::parseRowConstraints));
+    }
+
+    private static <T> T get(Map<String, T> cache, String constraint, Function<String, T> parser) {
+        if (constraint == null) constraint = "";
+        T parsed = cache.get(constraint);
+        if (parsed == null) {
+            // Parse outside the lock; two threads may both parse the same String, which is harmless.
+            parsed = parser.apply(ConstraintParser.prepare(constraint));
+            cache.put(constraint, parsed);
+        }
+        return parsed;
+    }
+
+    // UnitValue and BoundSize are immutable and shared by the copies, the array getters already return new arrays.
+
+    private static CC copy(CC cc) {
+        CC copy = new CC();
+        copy.setDockSide(cc.getDockSide());
+        copy.setPos(cc.getPos());
+        copy.setPadding(cc.getPadding());
+        copy.setVisualPadding(cc.getVisualPadding());
+        copy.setFlowX(cc.getFlowX());
+        copy.setSkip(cc.getSkip());
+        copy.setSplit(cc.getSplit());
+        copy.setSpanX(cc.getSpanX());
+        copy.setSpanY(cc.getSpanY());
+        copy.setCellX(cc.getCellX());
+        copy.setCellY(cc.getCellY());
+        copy.setTag(cc.getTag());
+        copy.setId(cc.getId());
+        copy.setHideMode(cc.getHideMode());
+        copy.setHorizontal(copy(cc.getHorizontal()));
+        copy.setVertical(copy(cc.getVertical()));
+        // The gap setters keep the default gap when given null, so the flag goes first.
+        copy.setNewline(cc.isNewline());
+        copy.setNewlineGapSize(cc.getNewlineGapSize());
+        copy.setWrap(cc.isWrap());
+        copy.setWrapGapSize(cc.getWrapGapSize());
+        copy.setBoundsInGrid(cc.isBoundsInGrid());
+        copy.setExternal(cc.isExternal());
+        copy.setPushX(cc.getPushX());
+        copy.setPushY(cc.getPushY());
+        return copy;
+    }
+
+    private static LC copy(LC lc) {
+        LC copy = new LC();
+        copy.setWrapAfter(lc.getWrapAfter());
+        copy.setLeftToRight(lc.getLeftToRight());
+        copy.setInsets(lc.getInsets());
+        copy.setAlignX(lc.getAlignX());
+        copy.setAlignY(lc.getAlignY());
+        copy.setGridGapX(lc.getGridGapX());
+        copy.setGridGapY(lc.getGridGapY());
+        copy.setWidth(lc.getWidth());
+        copy.setHeight(lc.getHeight());
+        copy.setPackWidth(lc.getPackWidth());
+        copy.setPackHeight(lc.getPackHeight());
+        copy.setPackWidthAlign(lc.getPackWidthAlign());
+        copy.setPackHeightAlign(lc.getPackHeightAlign());
+        copy.setDebugMillis(lc.getDebugMillis());
+        copy.setHideMode(lc.getHideMode());
+        copy.setNoCache(lc.isNoCache());
+        copy.setFlowX(lc.isFlowX());
+        copy.setFillX(lc.isFillX());
+        copy.setFillY(lc.isFillY());
+        copy.setTopToBottom(lc.isTopToBottom());
+        copy.setNoGrid(lc.isNoGrid());
+        copy.setVisualPadding(lc.isVisualPadding());
+        return copy;
+    }
+
+    private static AC copy(AC ac) {
+        DimConstraint[] constraints = ac.getConstaints();
+        for (int i = 0; i < constraints.length; i++) constraints[i] = copy(constraints[i]);
+        AC copy = new AC();
+        copy.setConstaints(constraints);
+        return copy;
+    }
+
+    private static DimConstraint copy(DimConstraint dc) {
+        DimConstraint copy = new DimConstraint();
+        copy.setGrowPriority(dc.getGrowPriority());
+        copy.setGrow(dc.getGrow());
+        copy.setShrinkPriority(dc.getShrinkPriority());
+        copy.setShrink(dc.getShrink());
+        copy.setSizeGroup(dc.getSizeGroup());
+        copy.setSize(dc.getSize());
+        copy.setGapBefore(dc.getGapBefore());
+        copy.setGapAfter(dc.getGapAfter());
+        copy.setAlign(dc.getAlign());
+        copy.setEndGroup(dc.getEndGroup());
+        copy.setFill(dc.isFill());
+        copy.setNoGrid(dc.isNoGrid());
+        return copy;
+    }
+
+    private static <T> Map<String, T> lruCache() {
+        return Collections.synchronizedMap(new LinkedHashMap<String, T>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, T> eldest) {
+                return size() > MAX_ENTRIES;
+            }
+        });
+    }
+}
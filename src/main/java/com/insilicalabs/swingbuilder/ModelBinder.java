@@ -32,6 +32,8 @@ public class ModelBinder<T> {
     }
 
     public void update() {
+        // Bindings to components that have since been recycled by ComponentPool are dropped.
+        bindings.removeIf(Binding::isRecycled);
         for (Binding binding : bindings) {
             binding.update();
         }
@@ -54,10 +56,16 @@ public class ModelBinder<T> {
     private class Binding {
         private final Component component;
         private final Function<T, Configurators.Configurator> function;
+        private final int generation;
 
         public Binding(Component c, Function<T, Configurators.Configurator> fn) {
             this.component = c;
             this.function = fn;
+            this.generation = ComponentPool.generation(c);
+        }
+
+        public boolean isRecycled() {
+            return ComponentPool.generation(component) != generation;
         }
 
         public void update() {
@@ -0,0 +1,86 @@
+package com.insilicalabs.swingbuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * A public method, looked up by name and argument types, that some component classes have and others don't. The
+ * method is resolved once per class and cached, along with the fact that it is missing, so repeated calls cost a
+ * ClassValue lookup and a MethodHandle invocation rather than a reflective lookup and <code>Method.invoke</code>.
+ * <p>
+ *     Backs <code>Configurators.invokeIfPresent</code>.
+ * </p>
+ */
+final class OptionalMethod {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OptionalMethod.class);
+
+    private final String name;
+    private final Class[] argTypes;
+
+    private final ClassValue<Optional<MethodHandle>> handles = new ClassValue<Optional<MethodHandle>>() {
+        @Override
+        protected Optional<MethodHandle> computeValue(Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    OptionalMethod(String name, Class... argTypes) {
+        this.name = name;
+        this.argTypes = argTypes.clone();
+    }
+
+    /**
+     * Invokes the method on <code>target</code> if its class has it, otherwise does nothing. Exceptions the method
+     * throws are logged, Errors are rethrown.
+     *
+     * @param target
+     * @param args
+     */
+    void invoke(Object target, Object... args) {
+        Optional<MethodHandle> handle = handles.get(target.getClass());
+        if (!handle.isPresent()) return;
+        try {
+            handle.get().invokeExact(target, args);
+        } catch (Exception e) {
+            // This may not be an error either, but let's let the developer know.
+            LOG.warn("The following exception may be okay, but it also may be unexpected.  " +
+                "Please verify that the method \"" + name + "\" can be called on " + target.getClass().getName() +
+                " and that is your intent.", e);
+        } catch (Error e) {
+            // Out of memory, a failed assertion and the like are not ours to swallow.
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+
+    private Optional<MethodHandle> resolve(Class<?> type) {
+        Method method;
+        try {
+            method = type.getMethod(name, argTypes);
+        } catch (NoSuchMethodException e) {
+            // Not an error... just don't call the not present method. Only logged the first time per class.
+            LOG.info("method not present: " + name + " on " + type.getName());
+            return Optional.empty();
+        }
+        try {
+            // Adapt to (Object, Object[])void so every handle can be called the same way with invokeExact.
+            MethodHandle handle = MethodHandles.publicLookup().unreflect(method);
+            handle = handle.asType(MethodType.genericMethodType(argTypes.length + 1).changeReturnType(void.class));
+            return Optional.of(handle.asSpreader(Object[].class, argTypes.length));
+        } catch (IllegalAccessException e) {
+            LOG.warn("method \"" + name + "\" with argument types " + Arrays.toString(argTypes) + " is present on " +
+                type.getName() + " but not accessible, it will not be called.", e);
+            return Optional.empty();
+        }
+    }
+}
@@ -9,23 +9,21 @@ import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JSplitPane;
+import javax.swing.JTable;
 import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
 import javax.swing.border.Border;
+import javax.swing.table.TableModel;
 import java.awt.Component;
 import java.awt.LayoutManager;
-import java.awt.LayoutManager2;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
-
-import static com.insilicalabs.swingbuilder.Configurators.border;
-import static com.insilicalabs.swingbuilder.Configurators.buttonGroup;
-import static com.insilicalabs.swingbuilder.Configurators.contents;
-import static com.insilicalabs.swingbuilder.Configurators.layout;
-import static com.insilicalabs.swingbuilder.Configurators.leftComponent;
-import static com.insilicalabs.swingbuilder.Configurators.rightComponent;
-import static com.insilicalabs.swingbuilder.Configurators.text;
-import static com.insilicalabs.swingbuilder.Configurators.viewport;
-import static com.insilicalabs.swingbuilder.Creators.dummy;
+import java.util.function.Supplier;
 
 /**
  * Created by jzwolak on 8/12/15.
@@ -41,21 +39,212 @@ public class SwingBuilderBase {
         }
     };
 
+    private static final ThreadLocal<List<Runnable>> batchedBuildOnThread = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> detachedBuildOnThread = ThreadLocal.withInitial(() -> false);
+    private static final ThreadLocal<Boolean> edtWaitingOnThread = ThreadLocal.withInitial(() -> false);
+    private static final AtomicLong edtRoundTrips = new AtomicLong();
+
+    /**
+     * Runs <code>builder</code> on the current thread, a thread other than the EDT, holding back every call to
+     * <code>configure</code> (and therefore every <code>Creators.*</code> factory) it makes, and then applies them all,
+     * in the order they were made, in a single EDT task. A tree of 500 labels in a panel takes one trip to the EDT
+     * instead of one per configurator. Returns what <code>builder</code> returns:
+     * <pre>
+     *     JPanel form = buildBatched(() -&gt; panel(name("form"), rows));
+     * </pre>
+     * Only affects the current thread and only for the duration of <code>builder</code>. Components come back
+     * unconfigured until <code>builder</code> returns, so it must not read back what it configures. On the EDT,
+     * <code>builder</code> simply runs. Components that detached build may configure off the EDT are configured right
+     * away.
+     *
+     * @param builder
+     * @param <T>
+     * @return
+     */
+    public static <T> T buildBatched(Supplier<T> builder) {
+        if (SwingUtilities.isEventDispatchThread() || batchedBuildOnThread.get() != null) return builder.get();
+        List<Runnable> pending = new ArrayList<>();
+        batchedBuildOnThread.set(pending);
+        T built;
+        try {
+            built = builder.get();
+        } finally {
+            batchedBuildOnThread.remove();
+        }
+        invokeAndWaitOnEDT(() -> pending.forEach(Runnable::run));
+        return built;
+    }
+
+    /**
+     * Runs <code>builder</code> on the current thread in detached build mode and returns what it builds. In detached
+     * build mode, configurators applied to a component that is not displayable (it, and the window it is in, if any,
+     * have not been packed or shown) run right on the calling thread instead of on the EDT. This lets a background
+     * thread build and configure a whole component tree without waiting on the EDT. Only the steps that attach the
+     * tree to something displayable, like <code>contents</code> into a showing container, <code>pack()</code>, or
+     * <code>show()</code>, are handed to the EDT:
+     * <pre>
+     *     JFrame main = buildDetached(() -&gt; frame(title("Main"), contents(panel(rows)), pack()));
+     * </pre>
+     * Only affects the current thread and only for the duration of <code>builder</code>, so other threads, including
+     * the EDT, are never handed components it is still configuring. Takes precedence over <code>buildBatched</code>
+     * for components that are not displayable.
+     *
+     * @param builder
+     * @param <T>
+     * @return
+     */
+    public static <T> T buildDetached(Supplier<T> builder) {
+        return buildDetached(builder, false);
+    }
+
+    /**
+     * Like <code>buildDetached(Supplier)</code>. When <code>edtWaits</code> is true the EDT is blocked until
+     * <code>builder</code> returns, so whatever in <code>builder</code> would wait on the EDT throws
+     * IllegalStateException instead of deadlocking.
+     */
+    static <T> T buildDetached(Supplier<T> builder, boolean edtWaits) {
+        boolean wasDetached = detachedBuildOnThread.get();
+        boolean edtWasWaiting = edtWaitingOnThread.get();
+        detachedBuildOnThread.set(true);
+        edtWaitingOnThread.set(edtWasWaiting || edtWaits);
+        try {
+            return builder.get();
+        } finally {
+            detachedBuildOnThread.set(wasDetached);
+            edtWaitingOnThread.set(edtWasWaiting);
+        }
+    }
+
+    /**
+     * @return true if the EDT is, or is blocked waiting on, the current thread.
+     */
+    static boolean isEdtWaitingOnThisThread() {
+        return SwingUtilities.isEventDispatchThread() || edtWaitingOnThread.get();
+    }
+
+    /**
+     * @return true if, in detached build mode, <code>c</code> may be configured on the current thread.
+     */
+    static boolean canConfigureDetached(Component c) {
+        return detachedBuildOnThread.get() && !c.isDisplayable();
+    }
+
+    /**
+     * @return the number of times SwingBuilder has blocked a non-EDT thread waiting on the EDT since startup.
+     */
+    public static long getEdtRoundTrips() {
+        return edtRoundTrips.get();
+    }
+
+    /**
+     * Runs <code>r</code> on the EDT and waits for it to finish. Runs immediately when already on the EDT.
+     *
+     * @param r
+     */
+    static void invokeAndWaitOnEDT(Runnable r) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            r.run();
+        } else {
+            if (edtWaitingOnThread.get()) {
+                throw new IllegalStateException("This needs the EDT, but the EDT is waiting for it to be built. " +
+                    "Build it without displayable components, pack() or showing a Window, or build it off the EDT.");
+            }
+            edtRoundTrips.incrementAndGet();
+            try {
+                SwingUtilities.invokeAndWait(r);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            } catch (InvocationTargetException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * Queues <code>r</code> on the EDT without waiting for it. Runs immediately when already on the EDT. The returned
+     * future completes once <code>r</code> has run, or completes exceptionally with whatever <code>r</code> threw.
+     *
+     * @param r
+     * @return
+     */
+    static CompletableFuture<Void> invokeLaterOnEDT(Runnable r) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        Runnable task = () -> {
+            try {
+                r.run();
+                future.complete(null);
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        };
+        if (SwingUtilities.isEventDispatchThread()) {
+            task.run();
+        } else {
+            SwingUtilities.invokeLater(task);
+        }
+        return future;
+    }
+
+    /**
+     * Runs <code>r</code> on the EDT, waiting for it to finish, and holds back the revalidate and repaint that
+     * <code>contents</code> and <code>replacecontents</code> normally do each time they change a visible container.
+     * When <code>r</code> returns, every validate root affected is laid out once and repainted once over the union of
+     * the changed areas. Useful when one model change rewrites many sibling containers:
+     * <pre>
+     *     batchLayout(() -&gt; cardsBinder.setModel(newCards));
+     * </pre>
+     * Batches may be nested; the work is done when the outermost one ends.
+     *
+     * @param r
+     */
+    public static void batchLayout(Runnable r) {
+        invokeAndWaitOnEDT(() -> LayoutBatch.run(r));
+    }
+
+    /**
+     * Stands in for configuration, or children, that <code>includeWhen</code> left out. <code>configure</code> and
+     * <code>contents</code> skip it. Unlike a dummy component it costs nothing, no matter how many times it is used.
+     */
+    public final static Object EXCLUDED = new Object() {
+        @Override
+        public String toString() {
+            return "excluded";
+        }
+    };
+
     public static Object includeWhen(boolean condition, Object... components) {
         if (condition) {
             return components;
         } else {
-            return dummy();
+            return EXCLUDED;
         }
     }
 
+    /**
+     * Configures <code>component</code>. Bare objects in the configuration, like Strings and Components, are converted
+     * to configurators by the converters registered for the runtime class of <code>component</code>, so a JPanel
+     * referenced as a Component is still treated as a JPanel.
+     *
+     * @param component
+     * @param configuration
+     * @param <T>
+     * @return
+     */
     public static <T extends Component> T configure(T component, Object... configuration) {
-        return configure(component, Function.identity(), configuration);
+        return configure(component, mappingFor(component.getClass()), configuration);
     }
 
     public static <T extends Component> T configure(T component, Function mapFunction, Object... configuration) {
+        List<Runnable> batch = batchedBuildOnThread.get();
+        if (batch != null && !canConfigureDetached(component)) {
+            // Applied with the rest of the batch, on the EDT, when buildBatched's builder returns.
+            batch.add(() -> configure(component, mapFunction, configuration));
+            return component;
+        }
         for (Object obj : configuration) {
-            if (obj instanceof Configurators.Configurator) {
+            if (obj == EXCLUDED) {
+                continue;
+            } else if (obj instanceof Configurators.Configurator) {
                 ((Configurators.Configurator) obj).applyOnEDT(component);
             } else if (obj instanceof Object[]) {
                 configure(component, mapFunction, (Object[]) obj);
@@ -73,77 +262,125 @@ public class SwingBuilderBase {
         return component;
     }
 
-    public static JSplitPane configure(JSplitPane sp, Object... configuration) {
-        configure(sp, (e) -> {
-            if (e instanceof Component) {
-                if (isDummy(sp.getLeftComponent())) {
-                    return leftComponent((Component) e);
-                } else if (isDummy(sp.getRightComponent())) {
-                    return rightComponent((Component) e);
+    /**
+     * Like <code>configure</code>, but never blocks the calling thread on the EDT. The whole configuration is queued as
+     * one EDT task and the returned future completes with <code>component</code> once it has been applied. Strings,
+     * components and the like are converted the same way <code>configure</code> converts them.
+     * <p>
+     *     Use this from background threads that push changes to the UI, especially when they hold locks that EDT code
+     *     may also need.
+     * </p>
+     *
+     * @param component
+     * @param configuration
+     * @param <T>
+     * @return
+     */
+    public static <T extends Component> CompletableFuture<T> configureAsync(T component, Object... configuration) {
+        return invokeLaterOnEDT(() -> configure(component, configuration)).thenApply(v -> component);
+    }
+
+    /**
+     * Registers a converter used by <code>configure</code> when an object of type <code>argType</code> (or a subtype)
+     * appears in the configuration of a component of type <code>componentType</code> (or a subtype). The converter
+     * returns the configurator (or any other configuration) to use in place of the object. For example, to let a
+     * custom component take a bare String as its title:
+     * <pre>
+     *     SwingBuilderBase.registerConverter(TitledCard.class, String.class, Configurators::title);
+     * </pre>
+     * Converters registered for a more specific component type are tried before those for its supertypes. Among
+     * converters for the same component type, the most recently registered one that accepts the object wins, so the
+     * built in conversions may be overridden.
+     *
+     * @param componentType
+     * @param argType
+     * @param converter
+     * @param <C>
+     * @param <A>
+     */
+    @SuppressWarnings("unchecked")
+    public static <C extends Component, A> void registerConverter(Class<C> componentType, Class<A> argType,
+                                                                  Function<? super A, ?> converter) {
+        CONVERTERS.register(componentType, argType, (Function<Object, Object>) converter);
+    }
+
+    /**
+     * The function <code>configure</code> uses to convert bare objects for components of <code>type</code>. None of
+     * these depend on a particular component instance, so the result may be resolved once and reused.
+     */
+    static Function<Object, Object> mappingFor(Class<?> type) {
+        return CONVERTERS.mappingFor(type);
+    }
+
+    private final static ConverterRegistry CONVERTERS = new ConverterRegistry();
+
+    static {
+        registerConverter(JSplitPane.class, Component.class, SwingBuilderBase::splitPaneComponent);
+        registerConverter(JLabel.class, String.class, Configurators::text);
+        registerConverter(JTextField.class, String.class, Configurators::text);
+        registerConverter(JScrollPane.class, Component.class, Configurators::viewport);
+        registerConverter(AbstractButton.class, ButtonGroup.class, Configurators::buttonGroup);
+        registerConverter(AbstractButton.class, String.class, Configurators::text);
+        registerConverter(JPanel.class, Border.class, Configurators::border);
+        registerConverter(JPanel.class, LayoutManager.class, Configurators::layout);
+        registerConverter(JPanel.class, Component.class, Configurators::contents);
+        registerConverter(JTable.class, TableModel.class, Configurators::tableModel);
+    }
+
+    /*
+     * Fills whichever side of the split pane still holds a dummy. Which side that is gets decided when applied, not
+     * when the configuration is read, so the same configurator works for any split pane.
+     */
+    private static Configurators.Configurator splitPaneComponent(Component child) {
+        return new Configurators.Configurator() {
+            @Override
+            protected void apply(Component c) {
+                JSplitPane sp = (JSplitPane) c;
+                if (isEmptySide(sp.getLeftComponent())) {
+                    sp.setLeftComponent(child);
+                } else if (isEmptySide(sp.getRightComponent())) {
+                    sp.setRightComponent(child);
                 } else {
                     System.err.println("WARNING: Did not add component to split pane because both panes already have a component.");
                 }
             }
-            return e;
-        }, configuration);
-        return sp;
+        };
+    }
+
+    public static JSplitPane configure(JSplitPane sp, Object... configuration) {
+        return configure(sp, mappingFor(sp.getClass()), configuration);
     }
 
     public static JLabel configure(JLabel label, Object... configuration) {
-        configure(label, (e) -> {
-            if (e instanceof String) return text((String) e);
-            return e;
-        }, configuration);
-        return label;
+        return configure(label, mappingFor(label.getClass()), configuration);
     }
 
     public static JTextField configure(JTextField textField, Object... configuration) {
-        configure(textField, (e) -> {
-            if (e instanceof String) return text((String) e);
-            return e;
-        }, configuration);
-        return textField;
+        return configure(textField, mappingFor(textField.getClass()), configuration);
     }
 
     public static JScrollPane configure(JScrollPane sp, Object... configuration) {
-        configure(sp, e -> {
-            if (e instanceof Component) {
-                return viewport((Component) e);
-            }
-            return e;
-        }, configuration);
-        return sp;
+        return configure(sp, mappingFor(sp.getClass()), configuration);
     }
 
     public static <T extends AbstractButton> T configure(T button, Object... configuration) {
-        configure(button, (e) -> {
-            if (e instanceof String) {
-                return text((String) e);
-            } else if (e instanceof ButtonGroup) {
-                return buttonGroup((ButtonGroup) e);
-            }
-            return e;
-        }, configuration);
-        return button;
+        return configure(button, mappingFor(button.getClass()), configuration);
     }
 
     public static JPanel configure(JPanel p, Object... configuration) {
-        configure(p, (e) -> {
-                if (e instanceof Component) {
-                    return contents(e);
-                } else if (e instanceof LayoutManager || e instanceof LayoutManager2) {
-                    return layout((LayoutManager) e);
-                } else if (e instanceof Border) {
-                    return border((Border) e);
-                }
-                return e;
-            },
-            configuration);
-        return p;
+        return configure(p, mappingFor(p.getClass()), configuration);
     }
 
     static boolean isDummy(Object c) {
         return c instanceof JLabel && DUMMY_COMPONENT_TAG.equals(((JLabel) c).getText());
     }
 
+    static boolean isExcluded(Object o) {
+        return o == EXCLUDED || isDummy(o);
+    }
+
+    private static boolean isEmptySide(Component c) {
+        return c == null || isDummy(c);
+    }
+
 }
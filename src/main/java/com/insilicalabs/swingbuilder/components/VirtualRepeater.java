@@ -0,0 +1,246 @@
+package com.insilicalabs.swingbuilder.components;
+
+import javax.swing.JComponent;
+import javax.swing.JViewport;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import javax.swing.event.ChangeListener;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A vertical list of components, one per item, meant to be the view of a scroll pane, that only creates components for
+ * the rows intersecting the viewport plus an overscan band above and below. Rows scrolled out of view are recycled for
+ * rows scrolling into view: they are handed to <code>bindFn</code> with their new item instead of being rebuilt. Memory
+ * and layout cost depend on the number of visible rows, not the number of items.
+ * <p>
+ *     All rows have the same height, which is what lets the repeater place any row without measuring the ones before
+ *     it: the total height is that times the number of items. Unless set with <code>setRowHeight</code>, it is the
+ *     tallest preferred height of any row bound so far, growing (and laying the rows out again) when a taller one
+ *     shows up, so rows are never cut off but shorter ones get extra space. Rows whose heights differ a lot are better
+ *     shown in a plain panel. Rows are as wide as the viewport.
+ * </p>
+ * <p>
+ *     Usually created with <code>Configurators.virtualContents</code>.
+ * </p>
+ */
+public class VirtualRepeater<T, C extends JComponent> extends JComponent implements Scrollable {
+
+    private Function<? super T, C> createFn;
+    private BiConsumer<? super T, ? super C> bindFn;
+    private List<T> items = Collections.emptyList();
+    private int rowHeight = 0;
+    private boolean rowHeightSet = false;
+    private int overscan = 5;
+    private static final int VISIBLE_ROWS_WHEN_PACKED = 10;
+    private int preferredWidth = 0;
+
+    // rows currently showing items firstIndex..firstIndex + active.length - 1
+    private Object[] active = new Object[0];
+    private int firstIndex = 0;
+    private final Deque<C> recycled = new ArrayDeque<>();
+
+    private final ChangeListener viewportListener = (e) -> updateRows();
+
+    /**
+     * @param createFn creates a row component, called only when there is no recycled row to reuse
+     * @param bindFn makes a row show an item, called every time a row, new or recycled, is given an item
+     */
+    public VirtualRepeater(Function<? super T, C> createFn, BiConsumer<? super T, ? super C> bindFn) {
+        this.createFn = createFn;
+        this.bindFn = bindFn;
+        setLayout(null);
+    }
+
+    /**
+     * Replaces the functions making and binding rows, e.g. when <code>virtualContents</code> is applied again. Rows
+     * already created are kept, and bound again with the new <code>bindFn</code> by the next <code>setItems</code>,
+     * so <code>createFn</code> should make the same kind of row as before.
+     *
+     * @param createFn
+     * @param bindFn
+     */
+    public void setRowFunctions(Function<? super T, C> createFn, BiConsumer<? super T, ? super C> bindFn) {
+        this.createFn = createFn;
+        this.bindFn = bindFn;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+        // Every showing row may now show a different item; recycle them all and bind again.
+        for (Object row : active) {
+            if (row != null) recycle(row);
+        }
+        active = new Object[0];
+        revalidate();
+        updateRows();
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * @param rowHeight the height of every row, or 0 to use the tallest preferred height of the rows
+     */
+    public void setRowHeight(int rowHeight) {
+        this.rowHeight = rowHeight;
+        this.rowHeightSet = rowHeight > 0;
+        revalidate();
+        updateRows();
+    }
+
+    public int getRowHeight() {
+        return rowHeight;
+    }
+
+    /**
+     * @param overscan number of rows to keep materialized above and below the visible ones, for smooth scrolling.
+     */
+    public void setOverscan(int overscan) {
+        this.overscan = overscan;
+        updateRows();
+    }
+
+    /**
+     * @return the number of row components created so far, showing or recycled.
+     */
+    public int getMaterializedRowCount() {
+        return getComponentCount();
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        Container parent = getParent();
+        if (parent instanceof JViewport) {
+            ((JViewport) parent).addChangeListener(viewportListener);
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        Container parent = getParent();
+        if (parent instanceof JViewport) {
+            ((JViewport) parent).removeChangeListener(viewportListener);
+        }
+        super.removeNotify();
+    }
+
+    @Override
+    public void doLayout() {
+        updateRows();
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) return super.getPreferredSize();
+        ensureRowHeight();
+        return new Dimension(preferredWidth, rowHeight * items.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void updateRows() {
+        if (items.isEmpty()) {
+            for (Object row : active) {
+                if (row != null) recycle(row);
+            }
+            active = new Object[0];
+            return;
+        }
+        ensureRowHeight();
+        Rectangle visible = getVisibleRect();
+        if (visible.height == 0) {
+            // Not laid out yet, materialize enough to show something once it is.
+            visible = new Rectangle(0, 0, getWidth(), rowHeight * overscan);
+        }
+        int first = Math.max(0, visible.y / rowHeight - overscan);
+        int last = Math.min(items.size() - 1, (visible.y + visible.height) / rowHeight + overscan);
+        Object[] rows = new Object[Math.max(0, last - first + 1)];
+        // Keep rows that are still in range, recycle the rest.
+        for (int i = 0; i < active.length; i++) {
+            Object row = active[i];
+            if (row == null) continue;
+            int index = firstIndex + i;
+            if (index >= first && index <= last) {
+                rows[index - first] = row;
+            } else {
+                recycle(row);
+            }
+        }
+        int heightBefore = rowHeight;
+        for (int i = 0; i < rows.length; i++) {
+            if (rows[i] == null) rows[i] = obtain(items.get(first + i));
+        }
+        // Placed once every row is bound, since binding may have found a taller row.
+        for (int i = 0; i < rows.length; i++) {
+            ((C) rows[i]).setBounds(0, (first + i) * rowHeight, getWidth(), rowHeight);
+        }
+        active = rows;
+        firstIndex = first;
+        if (rowHeight != heightBefore) revalidate();
+    }
+
+    private void ensureRowHeight() {
+        if (rowHeight > 0 || items.isEmpty()) return;
+        // Binding measures the row.
+        recycle(obtain(items.get(0)));
+        rowHeight = Math.max(1, rowHeight);
+    }
+
+    private C obtain(T item) {
+        C row = recycled.poll();
+        if (row == null) {
+            row = createFn.apply(item);
+            add(row);
+        }
+        bindFn.accept(item, row);
+        Dimension size = row.getPreferredSize();
+        preferredWidth = Math.max(preferredWidth, size.width);
+        if (!rowHeightSet) rowHeight = Math.max(rowHeight, size.height);
+        row.setVisible(true);
+        return row;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void recycle(Object row) {
+        // Recycled rows stay children of this component, just hidden, to avoid removeNotify/addNotify churn.
+        ((Component) row).setVisible(false);
+        recycled.push((C) row);
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        // Don't ask for room for every item, just a screenful.
+        Dimension size = getPreferredSize();
+        return new Dimension(size.width, Math.min(size.height, rowHeight * VISIBLE_ROWS_WHEN_PACKED));
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? Math.max(1, rowHeight) : 10;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? visibleRect.height : visibleRect.width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return true;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+}
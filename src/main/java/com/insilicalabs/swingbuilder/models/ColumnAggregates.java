@@ -0,0 +1,242 @@
+package com.insilicalabs.swingbuilder.models;
+
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import javax.swing.event.EventListenerList;
+import javax.swing.event.TableModelEvent;
+import javax.swing.event.TableModelListener;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.TableModel;
+import java.util.Arrays;
+import java.util.TreeMap;
+
+/**
+ * Sum, min, max, mean and count of numeric columns of a table model, kept up to date as the model reports rows
+ * inserted, updated and deleted, at a cost proportional to the rows changed rather than to all rows. Only a full
+ * change (data or structure changed) rescans every row. Cells that are not numbers are not counted.
+ * <p>
+ *     The results can be read with <code>get</code> and followed with a <code>ChangeListener</code>, e.g. to update a
+ *     <code>ModelBinder</code>, or shown as a footer: a one row table sharing the columns of the main one.
+ * </p>
+ * <pre>
+ *     ColumnAggregates totals = new ColumnAggregates(table.getModel(), 2, 3);
+ *     JTable footer = new JTable(totals.footerModel(ColumnAggregates.Aggregate.SUM), table.getColumnModel());
+ * </pre>
+ * Deleted and updated rows are reported after their old values are gone, so a copy of each aggregated column is kept,
+ * as a <code>double</code> per row. Min and max keep a count of each distinct value so removing the current minimum
+ * or maximum does not need a rescan.
+ */
+public class ColumnAggregates implements TableModelListener {
+
+    public enum Aggregate {
+        SUM, MIN, MAX, MEAN, COUNT
+    }
+
+    private final TableModel model;
+    private final int[] columns;
+    private final Stats[] stats;
+    private final EventListenerList listeners = new EventListenerList();
+
+    /**
+     * Starts following <code>model</code>, which must only be changed on the EDT.
+     *
+     * @param model
+     * @param columns the model columns to aggregate
+     */
+    public ColumnAggregates(TableModel model, int... columns) {
+        this.model = model;
+        this.columns = columns.clone();
+        this.stats = new Stats[columns.length];
+        rebuild();
+        model.addTableModelListener(this);
+    }
+
+    /**
+     * Stops following the model.
+     */
+    public void dispose() {
+        model.removeTableModelListener(this);
+    }
+
+    public void addChangeListener(ChangeListener l) {
+        listeners.add(ChangeListener.class, l);
+    }
+
+    public void removeChangeListener(ChangeListener l) {
+        listeners.remove(ChangeListener.class, l);
+    }
+
+    /**
+     * @param column    a model column given to the constructor
+     * @param aggregate
+     * @return the aggregate, or NaN for the min, max or mean of a column without numbers.
+     */
+    public double get(int column, Aggregate aggregate) {
+        Stats s = statsFor(column);
+        if (s == null) throw new IllegalArgumentException("Column " + column + " is not aggregated.");
+        switch (aggregate) {
+            case SUM:
+                return s.total();
+            case MIN:
+                return s.counts.isEmpty() ? Double.NaN : s.counts.firstKey();
+            case MAX:
+                return s.counts.isEmpty() ? Double.NaN : s.counts.lastKey();
+            case MEAN:
+                return s.count == 0 ? Double.NaN : s.total() / s.count;
+            default:
+                return s.count;
+        }
+    }
+
+    private Stats statsFor(int column) {
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i] == column) return stats[i];
+        }
+        return null;
+    }
+
+    @Override
+    public void tableChanged(TableModelEvent e) {
+        int first = e.getFirstRow();
+        int last = e.getLastRow();
+        if (first == TableModelEvent.HEADER_ROW || last == Integer.MAX_VALUE) {
+            rebuild();
+        } else {
+            for (int i = 0; i < columns.length; i++) {
+                if (e.getColumn() != TableModelEvent.ALL_COLUMNS && e.getColumn() != columns[i]) continue;
+                switch (e.getType()) {
+                    case TableModelEvent.INSERT:
+                        stats[i].insert(first, last, columns[i]);
+                        break;
+                    case TableModelEvent.DELETE:
+                        stats[i].delete(first, last);
+                        break;
+                    default:
+                        stats[i].update(first, last, columns[i]);
+                }
+            }
+        }
+        ChangeEvent event = new ChangeEvent(this);
+        for (ChangeListener l : listeners.getListeners(ChangeListener.class)) {
+            l.stateChanged(event);
+        }
+    }
+
+    private void rebuild() {
+        for (int i = 0; i < columns.length; i++) {
+            stats[i] = new Stats();
+            if (columns[i] < model.getColumnCount()) stats[i].insert(0, model.getRowCount() - 1, columns[i]);
+        }
+    }
+
+    private double valueAt(int row, int column) {
+        if (model instanceof ColumnarTableModel && Number.class.isAssignableFrom(model.getColumnClass(column))) {
+            return ((ColumnarTableModel) model).getDouble(row, column);
+        }
+        Object value = model.getValueAt(row, column);
+        return value instanceof Number ? ((Number) value).doubleValue() : Double.NaN;
+    }
+
+    /**
+     * @return a one row table model holding <code>aggregate</code> under each aggregated column and nothing under the
+     * others, updated along with the aggregates.
+     */
+    public TableModel footerModel(Aggregate aggregate) {
+        AbstractTableModel footer = new AbstractTableModel() {
+            @Override
+            public int getRowCount() {
+                return 1;
+            }
+
+            @Override
+            public int getColumnCount() {
+                return model.getColumnCount();
+            }
+
+            @Override
+            public String getColumnName(int column) {
+                return model.getColumnName(column);
+            }
+
+            @Override
+            public Object getValueAt(int rowIndex, int columnIndex) {
+                if (statsFor(columnIndex) == null) return "";
+                double value = get(columnIndex, aggregate);
+                return aggregate == Aggregate.COUNT ? (Object) (int) value : (Object) value;
+            }
+        };
+        addChangeListener((e) -> footer.fireTableRowsUpdated(0, 0));
+        return footer;
+    }
+
+    /**
+     * The aggregates of one column and the copy of its values they were computed from (NaN for non numbers).
+     */
+    private final class Stats {
+        private double[] values = new double[16];
+        private int size = 0;
+        private double sum = 0;
+        private double compensation = 0; // Kahan-Babuska compensation, so removals do not let the sum drift
+        private int count = 0;
+        private final TreeMap<Double, Integer> counts = new TreeMap<>();
+
+        void insert(int first, int last, int column) {
+            int n = last - first + 1;
+            if (n <= 0) return;
+            if (size + n > values.length) values = Arrays.copyOf(values, Math.max(values.length * 2, size + n));
+            System.arraycopy(values, first, values, first + n, size - first);
+            size += n;
+            for (int row = first; row <= last; row++) {
+                values[row] = valueAt(row, column);
+                add(values[row]);
+            }
+        }
+
+        void delete(int first, int last) {
+            for (int row = first; row <= last; row++) remove(values[row]);
+            System.arraycopy(values, last + 1, values, first, size - last - 1);
+            size -= last - first + 1;
+        }
+
+        void update(int first, int last, int column) {
+            for (int row = first; row <= Math.min(last, size - 1); row++) {
+                remove(values[row]);
+                values[row] = valueAt(row, column);
+                add(values[row]);
+            }
+        }
+
+        private void add(double v) {
+            if (Double.isNaN(v)) return;
+            count++;
+            accumulate(v);
+            counts.merge(v, 1, Integer::sum);
+        }
+
+        private void remove(double v) {
+            if (Double.isNaN(v)) return;
+            count--;
+            if (count == 0) {
+                sum = 0;
+                compensation = 0;
+            } else {
+                accumulate(-v);
+            }
+            counts.computeIfPresent(v, (k, c) -> c == 1 ? null : c - 1);
+        }
+
+        double total() {
+            return sum + compensation;
+        }
+
+        private void accumulate(double v) {
+            double t = sum + v;
+            if (Math.abs(sum) >= Math.abs(v)) {
+                compensation += (sum - t) + v;
+            } else {
+                compensation += (v - t) + sum;
+            }
+            sum = t;
+        }
+    }
+}
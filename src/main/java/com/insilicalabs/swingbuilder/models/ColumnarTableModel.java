@@ -0,0 +1,440 @@
+package com.insilicalabs.swingbuilder.models;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * A table model for large numeric data that stores each column in primitive arrays rather than holding the rows. Rows
+ * passed to <code>setData</code> or <code>appendRows</code> are read once through each column's extractor and may
+ * then be dropped by the caller. A <code>double</code> cell costs 8 bytes instead of a boxed <code>Double</code> plus
+ * the row object holding it, and only the cells <code>getValueAt</code> returns are boxed. Renderers and aggregates
+ * can skip the boxing entirely with <code>getDouble</code>, <code>getLong</code> and <code>getInt</code>.
+ * <pre>
+ *     ColumnarTableModel model = new ColumnarTableModel();
+ *     model.addLongColumn("Time", (o) -&gt; ((Sample) o).time);
+ *     model.addDoubleColumn("Value", (o) -&gt; ((Sample) o).value);
+ *     table(model, data(samples))
+ * </pre>
+ * Columns grow in fixed size chunks, so appending never copies what is already stored. Columns must all be added
+ * before the first row is stored, since there is nothing to extract a new column's values for the rows already held.
+ */
+public class ColumnarTableModel extends AbstractTableModel implements DataTableModel {
+
+    private static final int CHUNK_SHIFT = 14;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final List<Column> columns = new ArrayList<>();
+    private List<String> columnNames = Collections.emptyList();
+    private int rowCount = 0;
+
+    public void addDoubleColumn(String name, ToDoubleFunction<Object> extractor) {
+        addColumn(new DoubleColumn(name, extractor));
+    }
+
+    public void addLongColumn(String name, ToLongFunction<Object> extractor) {
+        addColumn(new LongColumn(name, extractor));
+    }
+
+    public void addIntColumn(String name, ToIntFunction<Object> extractor) {
+        addColumn(new IntColumn(name, extractor));
+    }
+
+    /**
+     * Adds a column of objects, for the odd label or category column next to numeric ones.
+     *
+     * @param name
+     * @param extractor
+     */
+    public void addObjectColumn(String name, Function<Object, Object> extractor) {
+        addColumn(new ObjectColumn(name, extractor));
+    }
+
+    private void addColumn(Column column) {
+        if (rowCount > 0) {
+            throw new IllegalStateException("Cannot add column " + column.name + " to a model that already has rows");
+        }
+        columns.add(column);
+        fireTableStructureChanged();
+    }
+
+    /**
+     * Replaces all rows with those extracted from <code>data</code>.
+     *
+     * @param data
+     */
+    @Override
+    public void setData(List data) {
+        rowCount = 0;
+        for (Column column : columns) column.ensureCapacity(data.size());
+        store(data);
+        for (Column column : columns) column.trim(rowCount);
+        // The columns do not depend on the rows, so this is never a structure change.
+        fireTableDataChanged();
+    }
+
+    /**
+     * Adds the rows extracted from <code>data</code> after the last row.
+     *
+     * @param data
+     */
+    public void appendRows(List data) {
+        if (data.isEmpty()) return;
+        int first = rowCount;
+        for (Column column : columns) column.ensureCapacity(rowCount + data.size());
+        store(data);
+        fireTableRowsInserted(first, rowCount - 1);
+    }
+
+    /**
+     * Replaces row <code>rowIndex</code> with the values extracted from <code>row</code>.
+     *
+     * @param rowIndex
+     * @param row
+     */
+    public void updateRow(int rowIndex, Object row) {
+        checkRows(rowIndex, rowIndex);
+        for (Column column : columns) column.store(rowIndex, row);
+        fireTableRowsUpdated(rowIndex, rowIndex);
+    }
+
+    /**
+     * Removes the rows from <code>first</code> to <code>last</code>, inclusive, moving the rows after them up.
+     *
+     * @param first
+     * @param last
+     */
+    public void removeRows(int first, int last) {
+        checkRows(first, last);
+        int removed = last - first + 1;
+        for (Column column : columns) {
+            column.move(last + 1, first, rowCount - last - 1);
+            column.trim(rowCount - removed);
+        }
+        rowCount -= removed;
+        fireTableRowsDeleted(first, last);
+    }
+
+    private void checkRows(int first, int last) {
+        if (first < 0 || first > last || last >= rowCount) {
+            throw new IndexOutOfBoundsException("Rows " + first + " to " + last + " of " + rowCount);
+        }
+    }
+
+    private void store(List data) {
+        for (Object row : data) {
+            for (Column column : columns) column.store(rowCount, row);
+            rowCount++;
+        }
+    }
+
+    /**
+     * Overrides the names given when the columns were added.
+     *
+     * @param columnNames
+     */
+    @Override
+    public void setColumnNames(List<String> columnNames) {
+        this.columnNames = columnNames;
+        fireTableStructureChanged();
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        if (column < columnNames.size()) return columnNames.get(column);
+        return columns.get(column).name;
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columnIndex) {
+        return columns.get(columnIndex).type();
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        return columns.get(columnIndex).get(rowIndex);
+    }
+
+    public double getDouble(int rowIndex, int columnIndex) {
+        return columns.get(columnIndex).getDouble(rowIndex);
+    }
+
+    public long getLong(int rowIndex, int columnIndex) {
+        return columns.get(columnIndex).getLong(rowIndex);
+    }
+
+    public int getInt(int rowIndex, int columnIndex) {
+        return (int) columns.get(columnIndex).getLong(rowIndex);
+    }
+
+    private abstract static class Column {
+        final String name;
+        int chunkCount = 0;
+
+        Column(String name) {
+            this.name = name;
+        }
+
+        abstract Class<?> type();
+
+        abstract Object get(int row);
+
+        abstract void store(int row, Object source);
+
+        abstract void resizeChunks(int chunks);
+
+        abstract Object chunk(int index);
+
+        double getDouble(int row) {
+            return ((Number) get(row)).doubleValue();
+        }
+
+        long getLong(int row) {
+            return ((Number) get(row)).longValue();
+        }
+
+        void ensureCapacity(int rows) {
+            int chunks = (rows + CHUNK_MASK) >>> CHUNK_SHIFT;
+            if (chunks > chunkCount) {
+                resizeChunks(chunks);
+                chunkCount = chunks;
+            }
+        }
+
+        /**
+         * Copies <code>length</code> rows starting at <code>from</code> down to <code>to</code>, which is lower, a
+         * chunk boundary at a time.
+         */
+        void move(int from, int to, int length) {
+            while (length > 0) {
+                int count = Math.min(length, CHUNK_SIZE - Math.max(from & CHUNK_MASK, to & CHUNK_MASK));
+                System.arraycopy(chunk(from >>> CHUNK_SHIFT), from & CHUNK_MASK,
+                        chunk(to >>> CHUNK_SHIFT), to & CHUNK_MASK, count);
+                from += count;
+                to += count;
+                length -= count;
+            }
+        }
+
+        /**
+         * Drops chunks beyond those needed for <code>rows</code>, so shrinking data gives memory back.
+         */
+        void trim(int rows) {
+            int chunks = (rows + CHUNK_MASK) >>> CHUNK_SHIFT;
+            if (chunks < chunkCount) {
+                resizeChunks(chunks);
+                chunkCount = chunks;
+            }
+        }
+    }
+
+    // Each column keeps an array of chunk references; only that small array is copied as it grows.
+
+    private static final class DoubleColumn extends Column {
+        private final ToDoubleFunction<Object> extractor;
+        private double[][] chunks = new double[0][];
+
+        DoubleColumn(String name, ToDoubleFunction<Object> extractor) {
+            super(name);
+            this.extractor = extractor;
+        }
+
+        @Override
+        Class<?> type() {
+            return Double.class;
+        }
+
+        @Override
+        Object get(int row) {
+            return getDouble(row);
+        }
+
+        @Override
+        double getDouble(int row) {
+            return chunks[row >>> CHUNK_SHIFT][row & CHUNK_MASK];
+        }
+
+        @Override
+        long getLong(int row) {
+            return (long) getDouble(row);
+        }
+
+        @Override
+        void store(int row, Object source) {
+            chunks[row >>> CHUNK_SHIFT][row & CHUNK_MASK] = extractor.applyAsDouble(source);
+        }
+
+        @Override
+        void resizeChunks(int count) {
+            double[][] resized = new double[count][];
+            System.arraycopy(chunks, 0, resized, 0, Math.min(count, chunks.length));
+            for (int i = chunks.length; i < count; i++) resized[i] = new double[CHUNK_SIZE];
+            chunks = resized;
+        }
+
+        @Override
+        Object chunk(int index) {
+            return chunks[index];
+        }
+    }
+
+    private static final class LongColumn extends Column {
+        private final ToLongFunction<Object> extractor;
+        private long[][] chunks = new long[0][];
+
+        LongColumn(String name, ToLongFunction<Object> extractor) {
+            super(name);
+            this.extractor = extractor;
+        }
+
+        @Override
+        Class<?> type() {
+            return Long.class;
+        }
+
+        @Override
+        Object get(int row) {
+            return getLong(row);
+        }
+
+        @Override
+        double getDouble(int row) {
+            return getLong(row);
+        }
+
+        @Override
+        long getLong(int row) {
+            return chunks[row >>> CHUNK_SHIFT][row & CHUNK_MASK];
+        }
+
+        @Override
+        void store(int row, Object source) {
+            chunks[row >>> CHUNK_SHIFT][row & CHUNK_MASK] = extractor.applyAsLong(source);
+        }
+
+        @Override
+        void resizeChunks(int count) {
+            long[][] resized = new long[count][];
+            System.arraycopy(chunks, 0, resized, 0, Math.min(count, chunks.length));
+            for (int i = chunks.length; i < count; i++) resized[i] = new long[CHUNK_SIZE];
+            chunks = resized;
+        }
+
+        @Override
+        Object chunk(int index) {
+            return chunks[index];
+        }
+    }
+
+    private static final class IntColumn extends Column {
+        private final ToIntFunction<Object> extractor;
+        private int[][] chunks = new int[0][];
+
+        IntColumn(String name, ToIntFunction<Object> extractor) {
+            super(name);
+            this.extractor = extractor;
+        }
+
+        @Override
+        Class<?> type() {
+            return Integer.class;
+        }
+
+        @Override
+        Object get(int row) {
+            return chunks[row >>> CHUNK_SHIFT][row & CHUNK_MASK];
+        }
+
+        @Override
+        double getDouble(int row) {
+            return getLong(row);
+        }
+
+        @Override
+        long getLong(int row) {
+            return chunks[row >>> CHUNK_SHIFT][row & CHUNK_MASK];
+        }
+
+        @Override
+        void store(int row, Object source) {
+            chunks[row >>> CHUNK_SHIFT][row & CHUNK_MASK] = extractor.applyAsInt(source);
+        }
+
+        @Override
+        void resizeChunks(int count) {
+            int[][] resized = new int[count][];
+            System.arraycopy(chunks, 0, resized, 0, Math.min(count, chunks.length));
+            for (int i = chunks.length; i < count; i++) resized[i] = new int[CHUNK_SIZE];
+            chunks = resized;
+        }
+
+        @Override
+        Object chunk(int index) {
+            return chunks[index];
+        }
+    }
+
+    private static final class ObjectColumn extends Column {
+        private final Function<Object, Object> extractor;
+        private Object[][] chunks = new Object[0][];
+
+        ObjectColumn(String name, Function<Object, Object> extractor) {
+            super(name);
+            this.extractor = extractor;
+        }
+
+        @Override
+        Class<?> type() {
+            return Object.class;
+        }
+
+        @Override
+        Object get(int row) {
+            return chunks[row >>> CHUNK_SHIFT][row & CHUNK_MASK];
+        }
+
+        @Override
+        void store(int row, Object source) {
+            chunks[row >>> CHUNK_SHIFT][row & CHUNK_MASK] = extractor.apply(source);
+        }
+
+        @Override
+        void trim(int rows) {
+            super.trim(rows);
+            // Don't hold on to values from rows that are gone.
+            if (rows < chunkCount * CHUNK_SIZE) {
+                Arrays.fill(chunks[rows >>> CHUNK_SHIFT], rows & CHUNK_MASK, CHUNK_SIZE, null);
+            }
+        }
+
+        @Override
+        void resizeChunks(int count) {
+            Object[][] resized = new Object[count][];
+            System.arraycopy(chunks, 0, resized, 0, Math.min(count, chunks.length));
+            for (int i = chunks.length; i < count; i++) resized[i] = new Object[CHUNK_SIZE];
+            chunks = resized;
+        }
+
+        @Override
+        Object chunk(int index) {
+            return chunks[index];
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.insilicalabs.swingbuilder.models;
+
+import javax.swing.table.TableModel;
+import java.util.List;
+
+/**
+ * A table model whose rows and column names can be set by the <code>data</code> and <code>columnNames</code>
+ * configurators. What a row is depends on the model.
+ */
+public interface DataTableModel extends TableModel {
+
+    void setData(List data);
+
+    void setColumnNames(List<String> columnNames);
+}
@@ -0,0 +1,72 @@
+package com.insilicalabs.swingbuilder.models;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read only file mapped into memory in segments, since one mapping cannot exceed 2GB. Positions are relative to
+ * <code>start</code>. Nothing is read until pages are touched, so mapping even a very large file is immediate and uses
+ * no heap for its contents.
+ */
+final class MappedFile implements Closeable {
+
+    private final FileChannel channel;
+    private final long size;
+    private final long segmentSize;
+    private final MappedByteBuffer[] segments;
+
+    /**
+     * @param segmentSize at most <code>Integer.MAX_VALUE</code>. Callers reading fixed size records choose a multiple of
+     *                    the record size so no record straddles two segments.
+     */
+    MappedFile(Path path, long start, long segmentSize, ByteOrder order) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = Math.max(0, channel.size() - start);
+        this.segmentSize = segmentSize;
+        int count = (int) ((size + segmentSize - 1) / segmentSize);
+        this.segments = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long position = i * segmentSize;
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start + position,
+                Math.min(segmentSize, size - position));
+            segments[i].order(order);
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    MappedByteBuffer segment(long position) {
+        return segments[(int) (position / segmentSize)];
+    }
+
+    int offset(long position) {
+        return (int) (position % segmentSize);
+    }
+
+    /**
+     * Copies <code>length</code> bytes starting at <code>position</code>, which may span segments.
+     */
+    void read(long position, byte[] destination, int length) {
+        int copied = 0;
+        while (copied < length) {
+            MappedByteBuffer segment = segment(position + copied);
+            int offset = offset(position + copied);
+            int n = Math.min(length - copied, segment.limit() - offset);
+            for (int i = 0; i < n; i++) destination[copied + i] = segment.get(offset + i);
+            copied += n;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        // The mappings stay valid until garbage collected; closing only releases the file handle.
+        channel.close();
+    }
+}
@@ -0,0 +1,158 @@
+package com.insilicalabs.swingbuilder.models;
+
+import javax.swing.table.AbstractTableModel;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A table model over a file of fixed size binary records, memory mapped rather than read. Opening takes the same time
+ * for a file of any size, the contents never occupy the heap, and each cell is decoded straight from the mapping when
+ * asked for, which is cheaper than caching decoded rows. Columns are fields at fixed offsets within a record:
+ * <pre>
+ *     MappedRecordTableModel model = new MappedRecordTableModel(path, 0, 16, ByteOrder.LITTLE_ENDIAN);
+ *     model.addLongColumn("Time", 0);
+ *     model.addDoubleColumn("Value", 8);
+ *     table(model)
+ * </pre>
+ * Trailing bytes that do not make up a whole record are ignored.
+ */
+public class MappedRecordTableModel extends AbstractTableModel implements Closeable {
+
+    private static final long SEGMENT_BYTES = 1L << 30;
+
+    private final MappedFile file;
+    private final int recordSize;
+    private final int rowCount;
+    private final List<Field> fields = new ArrayList<>();
+
+    /**
+     * @param path
+     * @param headerBytes bytes to skip at the start of the file before the first record
+     * @param recordSize from 1 byte to 1GB
+     * @param order
+     * @throws IOException
+     */
+    public MappedRecordTableModel(Path path, int headerBytes, int recordSize, ByteOrder order) throws IOException {
+        if (headerBytes < 0) throw new IllegalArgumentException("Negative header size: " + headerBytes);
+        if (recordSize <= 0 || recordSize > SEGMENT_BYTES) {
+            throw new IllegalArgumentException("Record size must be from 1 to " + SEGMENT_BYTES + ": " + recordSize);
+        }
+        this.recordSize = recordSize;
+        // Segments hold a whole number of records so a record is always read from a single mapping.
+        this.file = new MappedFile(path, headerBytes, (SEGMENT_BYTES / recordSize) * recordSize, order);
+        long rows = file.size() / recordSize;
+        if (rows > Integer.MAX_VALUE) throw new IOException("Too many records for a table: " + rows);
+        this.rowCount = (int) rows;
+    }
+
+    public void addByteColumn(String name, int offset) {
+        addField(new Field(name, offset, Byte.class, Byte.BYTES));
+    }
+
+    public void addShortColumn(String name, int offset) {
+        addField(new Field(name, offset, Short.class, Short.BYTES));
+    }
+
+    public void addIntColumn(String name, int offset) {
+        addField(new Field(name, offset, Integer.class, Integer.BYTES));
+    }
+
+    public void addLongColumn(String name, int offset) {
+        addField(new Field(name, offset, Long.class, Long.BYTES));
+    }
+
+    public void addFloatColumn(String name, int offset) {
+        addField(new Field(name, offset, Float.class, Float.BYTES));
+    }
+
+    public void addDoubleColumn(String name, int offset) {
+        addField(new Field(name, offset, Double.class, Double.BYTES));
+    }
+
+    private void addField(Field field) {
+        if (field.offset < 0 || field.offset + field.width > recordSize) {
+            throw new IllegalArgumentException("Column " + field.name + " (" + field.width + " bytes at " + field.offset
+                + ") does not fit in a record of " + recordSize + " bytes.");
+        }
+        fields.add(field);
+        fireTableStructureChanged();
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return fields.size();
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return fields.get(column).name;
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columnIndex) {
+        return fields.get(columnIndex).type;
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        Field field = fields.get(columnIndex);
+        long position = (long) rowIndex * recordSize;
+        MappedByteBuffer segment = file.segment(position);
+        int offset = file.offset(position) + field.offset;
+        if (field.type == Double.class) return segment.getDouble(offset);
+        if (field.type == Long.class) return segment.getLong(offset);
+        if (field.type == Integer.class) return segment.getInt(offset);
+        if (field.type == Float.class) return segment.getFloat(offset);
+        if (field.type == Short.class) return segment.getShort(offset);
+        return segment.get(offset);
+    }
+
+    /**
+     * Reads a numeric cell without boxing it.
+     *
+     * @param rowIndex
+     * @param columnIndex
+     * @return
+     */
+    public double getDouble(int rowIndex, int columnIndex) {
+        Field field = fields.get(columnIndex);
+        long position = (long) rowIndex * recordSize;
+        MappedByteBuffer segment = file.segment(position);
+        int offset = file.offset(position) + field.offset;
+        if (field.type == Double.class) return segment.getDouble(offset);
+        if (field.type == Long.class) return segment.getLong(offset);
+        if (field.type == Integer.class) return segment.getInt(offset);
+        if (field.type == Float.class) return segment.getFloat(offset);
+        if (field.type == Short.class) return segment.getShort(offset);
+        return segment.get(offset);
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    private static final class Field {
+        private final String name;
+        private final int offset;
+        private final Class<?> type;
+        private final int width;
+
+        private Field(String name, int offset, Class<?> type, int width) {
+            this.name = name;
+            this.offset = offset;
+            this.type = type;
+            this.width = width;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.insilicalabs.swingbuilder.models;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A table model over a delimited text file (one row per line, fields separated by a single character) that is memory
+ * mapped rather than read. Only the offset of each line is kept, indexed in the background: the table appears at once
+ * and rows are added in batches as the index grows. Rows are split into fields when first shown, and the most recently
+ * shown rows are kept decoded.
+ * <pre>
+ *     table(new MappedTextTableModel(path, ',', true))
+ * </pre>
+ * Fields are not unquoted, so a delimiter or line break inside quotes is not supported. Lines may end in
+ * <code>\n</code> or <code>\r\n</code>. The charset must encode <code>\n</code> as a single byte, as UTF-8 and the
+ * ISO-8859 charsets do.
+ */
+public class MappedTextTableModel extends AbstractTableModel implements Closeable {
+
+    private static final long SEGMENT_BYTES = 1L << 30;
+    private static final int PUBLISH_LINES = 1 << 16; // lines indexed between updates of the table
+    private static final int DECODED_ROWS = 256;
+
+    private final MappedFile file;
+    private final char delimiter;
+    private final boolean header;
+    private final Charset charset;
+    private final CompletableFuture<Void> indexed = new CompletableFuture<>();
+    private volatile boolean closed = false;
+
+    // Read and written only on the EDT. Line i spans lineStarts[i] up to lineStarts[i + 1], the newline excluded.
+    private long[] lineStarts = new long[0];
+    private int lineCount = 0;
+    private String[] columnNames = new String[0]; // from the header, or the first row's fields if there is none
+    private final Map<Integer, String[]> decoded = new LinkedHashMap<Integer, String[]>(DECODED_ROWS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, String[]> eldest) {
+            return size() > DECODED_ROWS;
+        }
+    };
+
+    public MappedTextTableModel(Path path, char delimiter, boolean header) throws IOException {
+        this(path, delimiter, header, StandardCharsets.UTF_8, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param path
+     * @param delimiter
+     * @param header    whether the first line holds the column names rather than a row
+     * @param charset
+     * @param executor  where the line index is built
+     * @throws IOException
+     */
+    public MappedTextTableModel(Path path, char delimiter, boolean header, Charset charset, Executor executor)
+        throws IOException {
+        this.file = new MappedFile(path, 0, SEGMENT_BYTES, ByteOrder.nativeOrder());
+        this.delimiter = delimiter;
+        this.header = header;
+        this.charset = charset;
+        executor.execute(() -> {
+            try {
+                index();
+            } catch (RuntimeException ex) {
+                indexed.completeExceptionally(ex);
+            }
+        });
+    }
+
+    /**
+     * @return completes once every line of the file has been indexed and the table updated to show it.
+     */
+    public CompletableFuture<Void> getIndexed() {
+        return indexed;
+    }
+
+    private void index() {
+        long size = file.size();
+        long[] starts = new long[1024];
+        int count = 1; // starts[0] = 0, the first line
+        int published = 0;
+        for (long base = 0; base < size && !closed; base += SEGMENT_BYTES) {
+            MappedByteBuffer segment = file.segment(base);
+            int limit = segment.limit();
+            for (int i = 0; i < limit; i++) {
+                if (segment.get(i) != '\n') continue;
+                if (count == starts.length) starts = Arrays.copyOf(starts, starts.length * 2);
+                starts[count++] = base + i + 1;
+                if (count - 1 - published >= PUBLISH_LINES) {
+                    if (closed) return;
+                    published = count - 1;
+                    publish(starts, published);
+                }
+            }
+        }
+        // A last line without a trailing newline still counts.
+        if (starts[count - 1] < size) {
+            if (count == starts.length) starts = Arrays.copyOf(starts, starts.length + 1);
+            starts[count++] = size + 1;
+        }
+        long[] all = starts;
+        int lines = count - 1;
+        SwingUtilities.invokeLater(() -> {
+            update(all, lines);
+            indexed.complete(null);
+        });
+    }
+
+    private void publish(long[] starts, int lines) {
+        // The indexer only writes past lines + 1 in this array, or copies it, so the EDT may keep reading it.
+        SwingUtilities.invokeLater(() -> update(starts, lines));
+    }
+
+    private void update(long[] starts, int lines) {
+        if (lines <= lineCount) return;
+        int oldRows = getRowCount();
+        boolean first = lineCount == 0;
+        lineStarts = starts;
+        lineCount = lines;
+        if (first) {
+            columnNames = split(0);
+            fireTableStructureChanged();
+        } else if (getRowCount() > oldRows) {
+            fireTableRowsInserted(oldRows, getRowCount() - 1);
+        }
+    }
+
+    private String[] split(int line) {
+        long start = lineStarts[line];
+        int length = (int) (lineStarts[line + 1] - 1 - start);
+        byte[] bytes = new byte[length];
+        file.read(start, bytes, length);
+        if (length > 0 && bytes[length - 1] == '\r') length--;
+        String text = new String(bytes, 0, length, charset);
+        List<String> fields = new ArrayList<>();
+        int from = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == delimiter) {
+                fields.add(text.substring(from, i));
+                from = i + 1;
+            }
+        }
+        fields.add(text.substring(from));
+        return fields.toArray(new String[0]);
+    }
+
+    @Override
+    public int getRowCount() {
+        return header ? Math.max(0, lineCount - 1) : lineCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return header ? columnNames[column] : super.getColumnName(column);
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        String[] fields = decoded.get(rowIndex);
+        if (fields == null) {
+            fields = split(header ? rowIndex + 1 : rowIndex);
+            decoded.put(rowIndex, fields);
+        }
+        return columnIndex < fields.length ? fields[columnIndex] : "";
+    }
+
+    /**
+     * Stops indexing and releases the file.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        file.close();
+    }
+}
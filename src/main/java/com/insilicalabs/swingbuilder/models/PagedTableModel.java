@@ -0,0 +1,230 @@
+package com.insilicalabs.swingbuilder.models;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * A table model for data sources too large or too slow to load up front, such as database queries. The number of rows
+ * is known, but rows are loaded a page at a time, by a <code>PageLoader</code> on a background executor, when a row of
+ * the page is first shown. Until then its cells show <code>LOADING</code>; when the page arrives only its rows are
+ * repainted. A bounded number of pages is kept, the least recently shown being dropped first, so memory stays constant
+ * however far the table is scrolled. The page after (or before, when scrolling up) the one being shown is loaded ahead.
+ * If loading a page fails its cells show <code>FAILED</code> until <code>reload</code> is called.
+ * <pre>
+ *     PagedTableModel model = new PagedTableModel(count, 200, 50,
+ *         (first, n) -&gt; db.query("select * from t limit ? offset ?", n, first));
+ *     model.setRowFn((o) -&gt; ((Record) o).cells());
+ *     model.setColumnNames(names);
+ *     table(model)
+ * </pre>
+ * The number of columns is the number of column names.
+ */
+public class PagedTableModel extends AbstractTableModel {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PagedTableModel.class);
+
+    /**
+     * The value of cells whose page has not been loaded yet.
+     */
+    public static final Object LOADING = new Object() {
+        @Override
+        public String toString() {
+            return "\u2026";
+        }
+    };
+
+    /**
+     * The value of cells whose page could not be loaded.
+     */
+    public static final Object FAILED = new Object() {
+        @Override
+        public String toString() {
+            return "Could not load.";
+        }
+    };
+
+    /**
+     * Loads the rows <code>firstRow</code> to <code>firstRow + count - 1</code>. Called off the EDT.
+     */
+    public interface PageLoader {
+        List<?> load(int firstRow, int count) throws Exception;
+    }
+
+    private final int pageSize;
+    private final int maxPages;
+    private final PageLoader loader;
+    private final Executor executor;
+    private int prefetch = 1;
+
+    // Only touched on the EDT.
+    private int rowCount;
+    private List<String> columnNames = Collections.emptyList();
+    private Function<Object, Object[]> rowFn = (o) -> new Object[]{o};
+    private final Set<Integer> loading = new HashSet<>();
+    private final Set<Integer> failed = new HashSet<>();
+    private final Map<Integer, List<?>> pages;
+    private int generation = 0; // changed when loaded pages become invalid, so loads under way are ignored
+    private int lastPage = 0;
+
+    private volatile int wantedPage = 0; // the page most recently shown, read by loads deciding if still needed
+
+    public PagedTableModel(int rowCount, int pageSize, int maxPages, PageLoader loader) {
+        this(rowCount, pageSize, maxPages, loader, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param rowCount
+     * @param pageSize number of rows loaded at once
+     * @param maxPages number of pages kept, which should be more than fit on screen at once
+     * @param loader
+     * @param executor where pages are loaded
+     */
+    public PagedTableModel(int rowCount, int pageSize, int maxPages, PageLoader loader, Executor executor) {
+        this.rowCount = rowCount;
+        this.pageSize = pageSize;
+        this.maxPages = maxPages;
+        this.loader = loader;
+        this.executor = executor;
+        this.pages = new LinkedHashMap<Integer, List<?>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<?>> eldest) {
+                return size() > PagedTableModel.this.maxPages;
+            }
+        };
+    }
+
+    /**
+     * @param prefetch number of pages loaded ahead in the direction of scrolling
+     */
+    public void setPrefetch(int prefetch) {
+        this.prefetch = prefetch;
+    }
+
+    /**
+     * Sets the number of rows, for instance after the data source changed, and drops every loaded page.
+     *
+     * @param rowCount
+     */
+    public void setRowCount(int rowCount) {
+        this.rowCount = rowCount;
+        reload();
+    }
+
+    /**
+     * Drops every loaded page so rows are loaded again when shown. Pages that could not be loaded are tried again too.
+     */
+    public void reload() {
+        generation++;
+        pages.clear();
+        loading.clear();
+        failed.clear();
+        fireTableDataChanged();
+    }
+
+    public void setColumnNames(List<String> columnNames) {
+        this.columnNames = columnNames;
+        fireTableStructureChanged();
+    }
+
+    public void setRowFn(Function<Object, Object[]> rowFn) {
+        this.rowFn = rowFn;
+        fireTableDataChanged();
+    }
+
+    /**
+     * @param rowIndex
+     * @return whether the row has been loaded, i.e. its cells are not <code>LOADING</code>.
+     */
+    public boolean isLoaded(int rowIndex) {
+        return pages.containsKey(rowIndex / pageSize);
+    }
+
+    /**
+     * @param rowIndex
+     * @return whether the row could not be loaded, i.e. its cells are <code>FAILED</code>.
+     */
+    public boolean isFailed(int rowIndex) {
+        return failed.contains(rowIndex / pageSize);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.size();
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames.get(column);
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        int page = rowIndex / pageSize;
+        List<?> rows = pages.get(page);
+        if (page != lastPage) {
+            int direction = page > lastPage ? 1 : -1;
+            lastPage = page;
+            wantedPage = page;
+            for (int i = 1; i <= prefetch; i++) request(page + i * direction);
+        }
+        if (rows == null) {
+            if (failed.contains(page)) return FAILED;
+            request(page);
+            return LOADING;
+        }
+        int offset = rowIndex - page * pageSize;
+        if (offset >= rows.size()) return LOADING;
+        Object[] cells = rowFn.apply(rows.get(offset));
+        return columnIndex < cells.length ? cells[columnIndex] : null;
+    }
+
+    private void request(int page) {
+        int firstRow = page * pageSize;
+        if (page < 0 || firstRow >= rowCount || pages.containsKey(page) || failed.contains(page) || !loading.add(page)) {
+            return;
+        }
+        int count = Math.min(pageSize, rowCount - firstRow);
+        int requested = generation;
+        executor.execute(() -> {
+            // While queued the table may have been scrolled far enough that this page would be dropped right away.
+            boolean skipped = Math.abs(page - wantedPage) >= maxPages;
+            List<?> rows = null;
+            if (!skipped) {
+                try {
+                    rows = loader.load(firstRow, count);
+                } catch (Exception ex) {
+                    LOG.warn("Could not load rows " + firstRow + " to " + (firstRow + count - 1) + ".", ex);
+                }
+            }
+            List<?> loaded = rows;
+            SwingUtilities.invokeLater(() -> {
+                if (requested != generation) return;
+                loading.remove(page);
+                if (loaded != null) {
+                    pages.put(page, loaded);
+                } else if (!skipped) {
+                    failed.add(page);
+                }
+                // Also repaints a skipped page, which requests it again if it is shown after all.
+                fireTableRowsUpdated(firstRow, firstRow + count - 1);
+            });
+        });
+    }
+}
@@ -0,0 +1,320 @@
+package com.insilicalabs.swingbuilder.models;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * A row sorter for tables of an <code>SBTableModel</code> that sorts and filters off the EDT. When the sort keys, the
+ * filter or the data change, the rows are copied (just the references), and then on a fork-join pool the filter is
+ * applied, the sort keys are extracted once per row, and the rows are sorted in parallel. The resulting order replaces
+ * the table's in a single step on the EDT. A computation made stale by a newer change is abandoned and never shown.
+ * <p>
+ *     Until a computation finishes the table keeps its previous order, with inserted rows shown at the end. The row
+ *     function (or column functions) and the filter are called off the EDT and must not touch Swing.
+ * </p>
+ * Installed with the <code>parallelSort</code> configurator; <code>filter</code> sets the filter and
+ * <code>searchFilter</code> a filter of model rows.
+ */
+public class ParallelRowSorter extends RowSorter<SBTableModel> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ParallelRowSorter.class);
+
+    private static final int MAX_SORT_KEYS = 3;
+
+    private final SBTableModel model;
+    private final Executor executor;
+    private final AtomicLong generation = new AtomicLong();
+    private List<SortKey> sortKeys = Collections.emptyList();
+    private Predicate<Object> filter = null;
+    private IntPredicate modelRowFilter = null;
+
+    // Only touched on the EDT. null means the identity: unsorted and unfiltered.
+    private int[] viewToModel = null;
+    private int[] modelToView = null;
+
+    public ParallelRowSorter(SBTableModel model) {
+        this(model, ForkJoinPool.commonPool());
+    }
+
+    public ParallelRowSorter(SBTableModel model, Executor executor) {
+        this.model = model;
+        this.executor = executor;
+    }
+
+    @Override
+    public SBTableModel getModel() {
+        return model;
+    }
+
+    /**
+     * Shows only the rows, i.e. elements of the model's data, for which <code>filter</code> is true, or all rows if it
+     * is null.
+     *
+     * @param filter
+     */
+    public void setFilter(Predicate<Object> filter) {
+        this.filter = filter;
+        recompute();
+    }
+
+    public Predicate<Object> getFilter() {
+        return filter;
+    }
+
+    /**
+     * Shows only the rows whose model index <code>filter</code> is true for, e.g. those found by a
+     * <code>SearchIndex</code>, or all rows if it is null. Applies along with the filter of rows.
+     *
+     * @param filter
+     */
+    public void setModelRowFilter(IntPredicate filter) {
+        this.modelRowFilter = filter;
+        recompute();
+    }
+
+    public IntPredicate getModelRowFilter() {
+        return modelRowFilter;
+    }
+
+    @Override
+    public void toggleSortOrder(int column) {
+        List<SortKey> keys = new ArrayList<>(sortKeys);
+        SortOrder order = SortOrder.ASCENDING;
+        for (int i = 0; i < keys.size(); i++) {
+            if (keys.get(i).getColumn() == column) {
+                if (i == 0 && keys.get(i).getSortOrder() == SortOrder.ASCENDING) order = SortOrder.DESCENDING;
+                keys.remove(i);
+                break;
+            }
+        }
+        keys.add(0, new SortKey(column, order));
+        setSortKeys(keys.subList(0, Math.min(keys.size(), MAX_SORT_KEYS)));
+    }
+
+    @Override
+    public void setSortKeys(List<? extends SortKey> keys) {
+        sortKeys = keys == null ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(keys));
+        fireSortOrderChanged();
+        recompute();
+    }
+
+    @Override
+    public List<? extends SortKey> getSortKeys() {
+        return sortKeys;
+    }
+
+    @Override
+    public int convertRowIndexToModel(int index) {
+        if (viewToModel == null) return index;
+        return viewToModel[index];
+    }
+
+    @Override
+    public int convertRowIndexToView(int index) {
+        if (viewToModel == null) return index;
+        if (modelToView == null) {
+            modelToView = new int[model.getRowCount()];
+            Arrays.fill(modelToView, -1);
+            for (int v = 0; v < viewToModel.length; v++) modelToView[viewToModel[v]] = v;
+        }
+        return index < modelToView.length ? modelToView[index] : -1;
+    }
+
+    @Override
+    public int getViewRowCount() {
+        return viewToModel == null ? model.getRowCount() : viewToModel.length;
+    }
+
+    @Override
+    public int getModelRowCount() {
+        return model.getRowCount();
+    }
+
+    @Override
+    public void modelStructureChanged() {
+        // Columns may be gone, along with the keys sorting by them.
+        sortKeys = Collections.emptyList();
+        fireSortOrderChanged();
+        allRowsChanged();
+    }
+
+    @Override
+    public void allRowsChanged() {
+        // Keep showing the old order while the new one is computed, unless it refers to rows that no longer exist.
+        if (viewToModel != null) {
+            int rowCount = model.getRowCount();
+            for (int m : viewToModel) {
+                if (m >= rowCount) {
+                    publish(null);
+                    break;
+                }
+            }
+        }
+        recompute();
+    }
+
+    @Override
+    public void rowsInserted(int firstRow, int endRow) {
+        if (viewToModel != null) {
+            // Shift rows after the insertion and show the new ones at the end until the new order is ready.
+            int count = endRow - firstRow + 1;
+            int[] shifted = Arrays.copyOf(viewToModel, viewToModel.length + count);
+            for (int v = 0; v < viewToModel.length; v++) {
+                if (shifted[v] >= firstRow) shifted[v] += count;
+            }
+            for (int i = 0; i < count; i++) shifted[viewToModel.length + i] = firstRow + i;
+            publish(shifted);
+        }
+        recompute();
+    }
+
+    @Override
+    public void rowsDeleted(int firstRow, int endRow) {
+        if (viewToModel != null) {
+            int count = endRow - firstRow + 1;
+            int[] kept = new int[viewToModel.length];
+            int n = 0;
+            for (int m : viewToModel) {
+                if (m < firstRow) kept[n++] = m;
+                else if (m > endRow) kept[n++] = m - count;
+            }
+            publish(Arrays.copyOf(kept, n));
+        }
+        recompute();
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow) {
+        recompute();
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow, int column) {
+        recompute();
+    }
+
+    private void publish(int[] order) {
+        int[] old = viewToModel == null ? null : viewToModel.clone();
+        viewToModel = order;
+        modelToView = null;
+        fireRowSorterChanged(old);
+    }
+
+    /**
+     * Starts computing the view order for the current data, keys and filter, abandoning any computation under way.
+     */
+    private void recompute() {
+        long current = generation.incrementAndGet();
+        if (sortKeys.isEmpty() && filter == null && modelRowFilter == null) {
+            if (viewToModel != null) publish(null);
+            return;
+        }
+        // Copying the references is cheap and lets the computation run while the data is being modified.
+        Object[] rows = model.getData().toArray();
+        int keyCount = 0;
+        for (SortKey key : sortKeys) {
+            if (key.getSortOrder() != SortOrder.UNSORTED) keyCount++;
+        }
+        @SuppressWarnings("unchecked")
+        Function<Object, Object>[] keyFns = new Function[keyCount];
+        boolean[] descending = new boolean[keyCount];
+        int k = 0;
+        for (SortKey key : sortKeys) {
+            if (key.getSortOrder() == SortOrder.UNSORTED) continue;
+            keyFns[k] = model.getColumnCount() > key.getColumn() ? model.cellFunction(key.getColumn()) : (o) -> null;
+            descending[k++] = key.getSortOrder() == SortOrder.DESCENDING;
+        }
+        Predicate<Object> objectFilter = filter;
+        IntPredicate indexFilter = modelRowFilter;
+        IntPredicate rowFilter = objectFilter == null && indexFilter == null ? null
+            : (i) -> (indexFilter == null || indexFilter.test(i)) && (objectFilter == null || objectFilter.test(rows[i]));
+        CompletableFuture.supplyAsync(() -> order(current, rows, keyFns, descending, rowFilter), executor)
+            .whenComplete((order, ex) -> {
+                if (ex != null) {
+                    if (!(ex.getCause() instanceof CancellationException)) {
+                        LOG.warn("Could not sort or filter the table.", ex);
+                    }
+                    return;
+                }
+                SwingUtilities.invokeLater(() -> {
+                    if (generation.get() != current) return;
+                    publish(order);
+                });
+            });
+    }
+
+    private int[] order(long current, Object[] rows, Function<Object, Object>[] keyFns, boolean[] descending,
+                        IntPredicate rowFilter) {
+        int[] kept = rowFilter == null
+            ? IntStream.range(0, rows.length).toArray()
+            : IntStream.range(0, rows.length).parallel().filter(rowFilter).toArray();
+        checkCurrent(current);
+        if (keyFns.length == 0) return kept;
+
+        // Extract every key once; comparing then never calls back into the row function.
+        Object[][] keys = new Object[keyFns.length][];
+        double[][] numericKeys = new double[keyFns.length][];
+        for (int k = 0; k < keyFns.length; k++) {
+            Function<Object, Object> fn = keyFns[k];
+            Object[] column = new Object[kept.length];
+            IntStream.range(0, kept.length).parallel().forEach(i -> column[i] = fn.apply(rows[kept[i]]));
+            checkCurrent(current);
+            if (Arrays.stream(column).allMatch(v -> v instanceof Number)) {
+                double[] numbers = new double[column.length];
+                for (int i = 0; i < column.length; i++) numbers[i] = ((Number) column[i]).doubleValue();
+                numericKeys[k] = numbers;
+            } else {
+                keys[k] = column;
+            }
+        }
+
+        Integer[] positions = new Integer[kept.length];
+        for (int i = 0; i < positions.length; i++) positions[i] = i;
+        Comparator<Integer> comparator = (a, b) -> {
+            for (int k = 0; k < keys.length; k++) {
+                int c = numericKeys[k] != null
+                    ? Double.compare(numericKeys[k][a], numericKeys[k][b])
+                    : compare(keys[k][a], keys[k][b]);
+                if (c != 0) return descending[k] ? -c : c;
+            }
+            return 0;
+        };
+        // Stable, so rows with equal keys stay in model order.
+        Arrays.parallelSort(positions, comparator);
+        checkCurrent(current);
+        int[] order = new int[positions.length];
+        for (int i = 0; i < order.length; i++) order[i] = kept[positions[i]];
+        return order;
+    }
+
+    private void checkCurrent(long current) {
+        if (generation.get() != current) throw new CancellationException();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compare(Object a, Object b) {
+        if (a == b) return 0;
+        if (a == null) return -1;
+        if (b == null) return 1;
+        if (a instanceof Comparable && a.getClass() == b.getClass()) return ((Comparable<Object>) a).compareTo(b);
+        return a.toString().compareTo(b.toString());
+    }
+}
@@ -3,21 +3,37 @@ package com.insilicalabs.swingbuilder.models;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.swing.event.TableModelEvent;
 import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.Function;
 
 /**
  * Created by jzwolak on 3/28/16.
+ * <p>
+ *     Cells come either from a row function, which projects a whole row into an <code>Object[]</code>, or from
+ *     columns added with <code>addColumn</code>, which each extract one cell and allocate nothing. With a row function,
+ *     <code>setRowCacheSize</code> keeps recent projections so painting a row does not run the row function once per
+ *     column. The cache is emptied by every change event the model fires.
+ * </p>
  */
-public class SBTableModel extends AbstractTableModel {
+public class SBTableModel extends AbstractTableModel implements DataTableModel {
 
     private static final Logger LOG = LoggerFactory.getLogger(SBTableModel.class);
 
     private List data;
+    private boolean ownsData = false; // whether data is a copy this model may modify
     private List<String> columnNames;
     private Function<Object, Object[]> rowFn;
+    private final List<Column> columns = new ArrayList<>();
+    private int columnCount = -1; // -1 until computed from data
+
+    // Direct mapped cache of row projections: row r may be held in slot r & (cachedRows.length - 1).
+    private int[] cachedRows = new int[0];
+    private Object[][] cachedProjections = new Object[0][];
 
     public SBTableModel() {
         this.data = Collections.emptyList();
@@ -25,15 +41,150 @@ public class SBTableModel extends AbstractTableModel {
         this.rowFn = (o) -> new Object[]{o};
     }
 
+    @Override
     public void setColumnNames(List<String> columnNames) {
         this.columnNames = columnNames;
         fireTableStructureChanged();
     }
 
+    /**
+     * Replaces the data. Fires structure changed only if the number of columns changed, so selection, column widths and
+     * renderers survive. Otherwise every row is reported as updated, or the data as changed if the number of rows
+     * changed, because rows may have been modified in place. See <code>setData(List, boolean)</code> to report only
+     * the rows that differ.
+     *
+     * @param data
+     */
+    @Override
     public void setData(List data) {
+        setData(data, false);
+    }
+
+    /**
+     * Like <code>setData(List)</code>, but when <code>keptRowsUnchanged</code> is true, the caller promises that every
+     * row instance held both before and after has not been modified, and the narrowest event describing the difference
+     * is fired: rows inserted, deleted or updated for the range between the rows the two lists have in common at the
+     * start and end, data changed if rows were both added and removed, or nothing if the rows are all the same.
+     * Rows are compared by identity, not <code>equals</code>, so a new instance of a row (e.g. an entity equal to the
+     * old one by id) is reported as updated. Passing the list already held (modified in place) always fires data
+     * changed, since there is nothing to compare it to.
+     *
+     * @param data
+     * @param keptRowsUnchanged
+     */
+    public void setData(List data, boolean keptRowsUnchanged) {
+        List old = this.data;
+        int oldColumnCount = getColumnCount();
         this.data = data;
-        // This must be structure changed because the number of rows and columns in data may be different now.
-        fireTableStructureChanged();
+        this.ownsData = false;
+        columnCount = -1;
+        if (getColumnCount() != oldColumnCount) {
+            // The number of columns is different, so the column model must be rebuilt.
+            fireTableStructureChanged();
+            return;
+        }
+        int oldSize = old.size();
+        int newSize = data.size();
+        if (old == data || !keptRowsUnchanged) {
+            if (oldSize == newSize && newSize > 0) {
+                fireTableRowsUpdated(0, newSize - 1);
+            } else {
+                fireTableDataChanged();
+            }
+            return;
+        }
+        int prefix = 0;
+        while (prefix < oldSize && prefix < newSize && old.get(prefix) == data.get(prefix)) prefix++;
+        int suffix = 0;
+        while (suffix < oldSize - prefix && suffix < newSize - prefix
+            && old.get(oldSize - 1 - suffix) == data.get(newSize - 1 - suffix)) suffix++;
+        int oldChanged = oldSize - prefix - suffix;
+        int newChanged = newSize - prefix - suffix;
+        if (oldChanged == 0 && newChanged == 0) {
+            // The very same rows, which the caller says are unchanged, so nothing to report.
+        } else if (oldChanged == newChanged) {
+            fireTableRowsUpdated(prefix, prefix + newChanged - 1);
+        } else if (oldChanged == 0) {
+            fireTableRowsInserted(prefix, prefix + newChanged - 1);
+        } else if (newChanged == 0) {
+            fireTableRowsDeleted(prefix, prefix + oldChanged - 1);
+        } else {
+            fireTableDataChanged();
+        }
+    }
+
+    /**
+     * Adds <code>rows</code> after the last row.
+     *
+     * @param rows
+     */
+    public void appendRows(List rows) {
+        insertRows(data.size(), rows);
+    }
+
+    /**
+     * Inserts <code>rows</code> so the first of them is at <code>index</code>.
+     *
+     * @param index
+     * @param rows
+     */
+    @SuppressWarnings("unchecked")
+    public void insertRows(int index, List rows) {
+        if (rows.isEmpty()) return;
+        boolean wasEmpty = data.isEmpty();
+        mutableData().addAll(index, rows);
+        if (wasEmpty) {
+            // Columns are only known once there is a row.
+            columnCount = -1;
+            fireTableStructureChanged();
+        } else {
+            fireTableRowsInserted(index, index + rows.size() - 1);
+        }
+    }
+
+    /**
+     * Replaces the rows starting at <code>index</code> with <code>rows</code>.
+     *
+     * @param index
+     * @param rows
+     */
+    @SuppressWarnings("unchecked")
+    public void updateRows(int index, List rows) {
+        if (rows.isEmpty()) return;
+        List mutable = mutableData();
+        for (int i = 0; i < rows.size(); i++) {
+            mutable.set(index + i, rows.get(i));
+        }
+        fireTableRowsUpdated(index, index + rows.size() - 1);
+    }
+
+    /**
+     * Removes the rows from <code>firstRow</code> to <code>lastRow</code>, inclusive.
+     *
+     * @param firstRow
+     * @param lastRow
+     */
+    public void removeRows(int firstRow, int lastRow) {
+        if (lastRow < firstRow) return;
+        mutableData().subList(firstRow, lastRow + 1).clear();
+        if (data.isEmpty()) {
+            // No rows means no columns.
+            columnCount = -1;
+            fireTableStructureChanged();
+        } else {
+            fireTableRowsDeleted(firstRow, lastRow);
+        }
+    }
+
+    /**
+     * @return the data as a list this model owns and may modify, copying the caller's list on first modification.
+     */
+    private List mutableData() {
+        if (!ownsData) {
+            data = new ArrayList<>(data);
+            ownsData = true;
+        }
+        return data;
     }
 
     /*
@@ -44,11 +195,68 @@ public class SBTableModel extends AbstractTableModel {
         return data;
     }
 
+    /**
+     * Sets the function projecting a row into its cells. Replaces any columns added with <code>addColumn</code>.
+     *
+     * @param rowFn
+     */
     public void setRowFn(Function<Object, Object[]> rowFn) {
         this.rowFn = rowFn;
+        columns.clear();
+        fireTableStructureChanged();
+    }
+
+    /**
+     * Adds a column whose cells are <code>cellFn</code> applied to each row. Once a column is added the row function
+     * is no longer used and the column count is the number of columns added.
+     *
+     * @param name
+     * @param cellFn
+     */
+    public void addColumn(String name, Function<Object, Object> cellFn) {
+        columns.add(new Column(name, cellFn));
         fireTableStructureChanged();
     }
 
+    /**
+     * Keeps the projections of up to <code>size</code> (rounded up to a power of two) recently read rows. Only used with
+     * a row function. 0, the default, disables the cache. Should be at least the number of rows visible at once.
+     *
+     * @param size
+     */
+    public void setRowCacheSize(int size) {
+        int slots = size <= 1 ? Math.max(size, 0) : Integer.highestOneBit(size - 1) << 1;
+        cachedRows = new int[slots];
+        Arrays.fill(cachedRows, -1);
+        cachedProjections = new Object[slots][];
+    }
+
+    public int getRowCacheSize() {
+        return cachedRows.length;
+    }
+
+    @Override
+    public void fireTableChanged(TableModelEvent e) {
+        // Row projections and the column count may be stale after any change.
+        if (e.getType() == TableModelEvent.UPDATE && e.getFirstRow() != TableModelEvent.HEADER_ROW
+            && e.getLastRow() != Integer.MAX_VALUE) {
+            invalidateRows(e.getFirstRow(), e.getLastRow());
+        } else {
+            if (e.getFirstRow() == TableModelEvent.HEADER_ROW) columnCount = -1;
+            invalidateRows(0, Integer.MAX_VALUE);
+        }
+        super.fireTableChanged(e);
+    }
+
+    private void invalidateRows(int first, int last) {
+        for (int i = 0; i < cachedRows.length; i++) {
+            if (cachedRows[i] >= first && cachedRows[i] <= last) {
+                cachedRows[i] = -1;
+                cachedProjections[i] = null;
+            }
+        }
+    }
+
     @Override
     public int getRowCount() {
         return data.size();
@@ -56,12 +264,16 @@ public class SBTableModel extends AbstractTableModel {
 
     @Override
     public int getColumnCount() {
-        if (data.isEmpty()) return 0;
-        return rowFn.apply(data.get(0)).length;
+        if (!columns.isEmpty()) return columns.size();
+        if (columnCount < 0) {
+            columnCount = data.isEmpty() ? 0 : rowFn.apply(data.get(0)).length;
+        }
+        return columnCount;
     }
 
     @Override
     public String getColumnName(int column) {
+        if (!columns.isEmpty()) return columns.get(column).name;
         try {
             return columnNames.get(column);
         } catch (IndexOutOfBoundsException ex) {
@@ -71,7 +283,39 @@ public class SBTableModel extends AbstractTableModel {
 
     @Override
     public Object getValueAt(int rowIndex, int columnIndex) {
-        return rowFn.apply(data.get(rowIndex))[columnIndex];
+        if (!columns.isEmpty()) return columns.get(columnIndex).cellFn.apply(data.get(rowIndex));
+        return project(rowIndex)[columnIndex];
+    }
+
+    /**
+     * @return a function giving the value in <code>columnIndex</code> of a row, i.e. of an element of the data. Unlike
+     * <code>getValueAt</code> it does not use the row cache, so it may be called off the EDT as long as the row
+     * function or column functions may.
+     */
+    Function<Object, Object> cellFunction(int columnIndex) {
+        if (!columns.isEmpty()) return columns.get(columnIndex).cellFn;
+        Function<Object, Object[]> fn = rowFn;
+        return (row) -> fn.apply(row)[columnIndex];
+    }
+
+    private Object[] project(int rowIndex) {
+        if (cachedRows.length == 0) return rowFn.apply(data.get(rowIndex));
+        int slot = rowIndex & (cachedRows.length - 1);
+        if (cachedRows[slot] == rowIndex) return cachedProjections[slot];
+        Object[] projection = rowFn.apply(data.get(rowIndex));
+        cachedRows[slot] = rowIndex;
+        cachedProjections[slot] = projection;
+        return projection;
+    }
+
+    private static final class Column {
+        private final String name;
+        private final Function<Object, Object> cellFn;
+
+        private Column(String name, Function<Object, Object> cellFn) {
+            this.name = name;
+            this.cellFn = cellFn;
+        }
     }
 
 }
@@ -0,0 +1,76 @@
+package com.insilicalabs.swingbuilder.models;
+
+import javax.swing.SwingUtilities;
+import javax.swing.event.ChangeListener;
+
+/**
+ * Filters the rows of a <code>ParallelRowSorter</code> to those a <code>SearchIndex</code> finds for a query, keeping
+ * the filter current as the query changes and as the index follows changes to the model. Only the result of the latest
+ * query is ever shown: a search finishing after the query changed (or was cleared) is ignored. While the model changes,
+ * searches are run again, but at most one is under way at a time. Used by the <code>searchFilter</code> configurator,
+ * on the EDT.
+ */
+public class SearchFilter {
+
+    private final SearchIndex index;
+    private final ParallelRowSorter sorter;
+    private final ChangeListener indexListener = (e) -> search();
+
+    // Only touched on the EDT.
+    private String query = "";
+    private boolean searching = false;
+    private boolean stale = false; // the query or the index changed while searching
+
+    public SearchFilter(SearchIndex index, ParallelRowSorter sorter) {
+        this.index = index;
+        this.sorter = sorter;
+        index.addChangeListener(indexListener);
+    }
+
+    public SearchIndex getIndex() {
+        return index;
+    }
+
+    public ParallelRowSorter getSorter() {
+        return sorter;
+    }
+
+    /**
+     * @param query the text rows must contain, or null or empty to show all rows
+     */
+    public void setQuery(String query) {
+        this.query = query == null ? "" : query;
+        if (this.query.isEmpty()) {
+            sorter.setModelRowFilter(null);
+        } else {
+            search();
+        }
+    }
+
+    /**
+     * Stops following the index and shows all rows.
+     */
+    public void dispose() {
+        index.removeChangeListener(indexListener);
+        query = "";
+        sorter.setModelRowFilter(null);
+    }
+
+    private void search() {
+        if (query.isEmpty()) return;
+        if (searching) {
+            stale = true;
+            return;
+        }
+        searching = true;
+        String searched = query;
+        index.search(searched).whenComplete((rows, ex) -> SwingUtilities.invokeLater(() -> {
+            searching = false;
+            if (rows != null && searched.equals(query)) sorter.setModelRowFilter(rows::get);
+            if (stale) {
+                stale = false;
+                search();
+            }
+        }));
+    }
+}
@@ -0,0 +1,515 @@
+package com.insilicalabs.swingbuilder.models;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.JList;
+import javax.swing.ListModel;
+import javax.swing.SwingUtilities;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import javax.swing.event.EventListenerList;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import javax.swing.event.TableModelEvent;
+import javax.swing.event.TableModelListener;
+import javax.swing.table.TableModel;
+import java.beans.PropertyChangeListener;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * A substring search index over the text of the rows of a table model or the items of a list model, for find as you
+ * type. The text of a row is its cells' <code>toString</code> separated by tabs, matched without regard to case.
+ * Every three character sequence of every row is indexed, so a query of three or more characters only looks at rows
+ * containing all of its three character sequences, typically a tiny fraction, before checking them. Shorter queries
+ * scan every row's text.
+ * <p>
+ *     The index is built and searched on a background thread of its own and follows the model's change events
+ *     incrementally: only inserted, updated and deleted rows are indexed or dropped. Searches return futures and never
+ *     block the EDT. With an <code>SBTableModel</code> or a <code>ListModel</code> only the row objects are read on the
+ *     EDT, with the functions making their text, which is made in the background; with another
+ *     <code>TableModel</code> the text of changed rows is read on the EDT.
+ * </p>
+ * The <code>searchFilter</code> and <code>selectNextMatch</code> configurators use it for tables and lists.
+ */
+public class SearchIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SearchIndex.class);
+
+    private final ExecutorService thread = Executors.newSingleThreadExecutor((r) -> {
+        Thread t = new Thread(r, "SearchIndex");
+        t.setDaemon(true);
+        return t;
+    });
+    private final EventListenerList listeners = new EventListenerList();
+    private final AtomicBoolean changePending = new AtomicBoolean();
+
+    // Only touched on the EDT.
+    private Runnable detach = () -> {};
+    private Runnable unfollowList = () -> {};
+
+    // Only touched on the index thread. Each indexed text has an id; an updated row gets a new id and its old one is
+    // dead. Ids only increase, so posting lists stay sorted by simply appending.
+    private String[] texts = new String[1024];
+    private int[] idToRow = new int[1024]; // -1 for dead ids
+    private int nextId = 0;
+    private int[] rowToId = new int[1024];
+    private int rowCount = 0;
+    private int dead = 0;
+    private Trigrams postings = new Trigrams();
+
+    private SearchIndex() {
+    }
+
+    /**
+     * Indexes an <code>SBTableModel</code>, making the text of rows in the background.
+     *
+     * @param model
+     * @return
+     */
+    public static SearchIndex forTable(SBTableModel model) {
+        SearchIndex index = new SearchIndex();
+        index.followTable(model, (first, last) -> {
+            // The cell functions are taken now, on the EDT, as the model's columns may change while the text is made.
+            @SuppressWarnings("unchecked")
+            Function<Object, Object>[] cells = new Function[model.getColumnCount()];
+            for (int c = 0; c < cells.length; c++) cells[c] = model.cellFunction(c);
+            return new Rows(model.getData().subList(first, last + 1).toArray(), (row) -> {
+                StringBuilder sb = new StringBuilder();
+                for (int c = 0; c < cells.length; c++) {
+                    if (c > 0) sb.append('\t');
+                    sb.append(cells[c].apply(row));
+                }
+                return sb.toString();
+            });
+        });
+        return index;
+    }
+
+    /**
+     * Indexes any table model. The text of inserted and updated rows is read on the EDT.
+     *
+     * @param model
+     * @return
+     */
+    public static SearchIndex forTable(TableModel model) {
+        if (model instanceof SBTableModel) return forTable((SBTableModel) model);
+        SearchIndex index = new SearchIndex();
+        index.followTable(model, (first, last) -> {
+            Object[] rows = new Object[last - first + 1];
+            for (int r = first; r <= last; r++) {
+                StringBuilder sb = new StringBuilder();
+                for (int c = 0; c < model.getColumnCount(); c++) {
+                    if (c > 0) sb.append('\t');
+                    sb.append(model.getValueAt(r, c));
+                }
+                rows[r - first] = sb.toString();
+            }
+            return new Rows(rows, Object::toString);
+        });
+        return index;
+    }
+
+    /**
+     * Indexes the <code>toString</code> of the items of a list model. For a <code>JList</code> whose model may be
+     * replaced, e.g. by the <code>items</code> configurator, use <code>forList(JList)</code>.
+     *
+     * @param model
+     * @return
+     */
+    public static SearchIndex forList(ListModel<?> model) {
+        SearchIndex index = new SearchIndex();
+        index.followList(model);
+        return index;
+    }
+
+    /**
+     * Indexes the <code>toString</code> of the items of a <code>JList</code>, following it to each new model it is
+     * given, as the <code>items</code> configurator does every time it applies.
+     *
+     * @param list
+     * @return
+     */
+    public static SearchIndex forList(JList<?> list) {
+        SearchIndex index = forList(list.getModel());
+        PropertyChangeListener listener = (e) -> index.followList((ListModel<?>) e.getNewValue());
+        list.addPropertyChangeListener("model", listener);
+        index.unfollowList = () -> list.removePropertyChangeListener("model", listener);
+        return index;
+    }
+
+    private void followTable(TableModel model, RowReader rows) {
+        TableModelListener listener = (e) -> {
+            int first = e.getFirstRow();
+            int last = e.getLastRow();
+            if (first == TableModelEvent.HEADER_ROW || last == Integer.MAX_VALUE) {
+                rebuild(rows.read(0, model.getRowCount() - 1));
+            } else if (e.getType() == TableModelEvent.INSERT) {
+                insert(first, rows.read(first, last));
+            } else if (e.getType() == TableModelEvent.DELETE) {
+                delete(first, last);
+            } else {
+                update(first, rows.read(first, last));
+            }
+        };
+        model.addTableModelListener(listener);
+        detach = () -> model.removeTableModelListener(listener);
+        rebuild(rows.read(0, model.getRowCount() - 1));
+    }
+
+    private void followList(ListModel<?> model) {
+        detach.run();
+        RowReader rows = (first, last) -> {
+            Object[] items = new Object[last - first + 1];
+            for (int i = first; i <= last; i++) items[i - first] = model.getElementAt(i);
+            return new Rows(items, Object::toString);
+        };
+        ListDataListener listener = new ListDataListener() {
+            @Override
+            public void intervalAdded(ListDataEvent e) {
+                insert(e.getIndex0(), rows.read(e.getIndex0(), e.getIndex1()));
+            }
+
+            @Override
+            public void intervalRemoved(ListDataEvent e) {
+                delete(e.getIndex0(), e.getIndex1());
+            }
+
+            @Override
+            public void contentsChanged(ListDataEvent e) {
+                if (e.getIndex0() < 0) {
+                    rebuild(rows.read(0, model.getSize() - 1));
+                } else {
+                    update(e.getIndex0(), rows.read(e.getIndex0(), e.getIndex1()));
+                }
+            }
+        };
+        model.addListDataListener(listener);
+        detach = () -> model.removeListDataListener(listener);
+        rebuild(rows.read(0, model.getSize() - 1));
+    }
+
+    /**
+     * Reads rows <code>first</code> to <code>last</code> on the EDT.
+     */
+    private interface RowReader {
+        Rows read(int first, int last);
+    }
+
+    /**
+     * Rows read on the EDT, and how to make their text on the index thread.
+     */
+    private static final class Rows {
+        private final Object[] rows;
+        private final Function<Object, String> text;
+
+        private Rows(Object[] rows, Function<Object, String> text) {
+            this.rows = rows;
+            this.text = text;
+        }
+
+        String textAt(int i) {
+            return text.apply(rows[i]).toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Stops following the model and ends the index thread.
+     */
+    public void dispose() {
+        detach.run();
+        unfollowList.run();
+        thread.shutdown();
+    }
+
+    /**
+     * Adds a listener told on the EDT when the index has caught up with changes to the model, e.g. to search again.
+     * Several changes may be reported at once.
+     *
+     * @param l
+     */
+    public void addChangeListener(ChangeListener l) {
+        listeners.add(ChangeListener.class, l);
+    }
+
+    public void removeChangeListener(ChangeListener l) {
+        listeners.remove(ChangeListener.class, l);
+    }
+
+    /**
+     * @param query
+     * @return the rows whose text contains <code>query</code>, ignoring case, as of every change to the model so far.
+     */
+    public CompletableFuture<BitSet> search(String query) {
+        return CompletableFuture.supplyAsync(() -> matches(query.toLowerCase(Locale.ROOT)), thread);
+    }
+
+    /**
+     * @param query
+     * @param afterRow the row to start after, e.g. the selected one, or -1 to start at the first
+     * @return the first row after <code>afterRow</code> matching <code>query</code>, wrapping around to the start, or
+     * -1 if none does.
+     */
+    public CompletableFuture<Integer> nextMatch(String query, int afterRow) {
+        return search(query).thenApply((rows) -> {
+            int next = rows.nextSetBit(afterRow + 1);
+            return next >= 0 ? next : rows.nextSetBit(0);
+        });
+    }
+
+    private void submit(Runnable task) {
+        thread.execute(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException ex) {
+                LOG.warn("Could not update the search index.", ex);
+            }
+            changed();
+        });
+    }
+
+    private void changed() {
+        if (listeners.getListenerCount() == 0 || !changePending.compareAndSet(false, true)) return;
+        SwingUtilities.invokeLater(() -> {
+            changePending.set(false);
+            ChangeEvent event = new ChangeEvent(this);
+            for (ChangeListener l : listeners.getListeners(ChangeListener.class)) {
+                l.stateChanged(event);
+            }
+        });
+    }
+
+    // Called on the EDT with the rows already read; the rest happens on the index thread, in the order of the events.
+
+    private void rebuild(Rows rows) {
+        submit(() -> {
+            String[] rowTexts = new String[rows.rows.length];
+            for (int i = 0; i < rowTexts.length; i++) rowTexts[i] = rows.textAt(i);
+            reset(rowTexts);
+        });
+    }
+
+    private void insert(int first, Rows rows) {
+        submit(() -> {
+            int n = rows.rows.length;
+            rowToId = ensure(rowToId, rowCount + n);
+            System.arraycopy(rowToId, first, rowToId, first + n, rowCount - first);
+            rowCount += n;
+            for (int row = first + n; row < rowCount; row++) idToRow[rowToId[row]] = row;
+            for (int i = 0; i < n; i++) {
+                rowToId[first + i] = add(rows.textAt(i), first + i);
+            }
+        });
+    }
+
+    private void delete(int first, int last) {
+        submit(() -> {
+            int n = last - first + 1;
+            for (int row = first; row <= last; row++) kill(rowToId[row]);
+            System.arraycopy(rowToId, last + 1, rowToId, first, rowCount - last - 1);
+            rowCount -= n;
+            for (int row = first; row < rowCount; row++) idToRow[rowToId[row]] = row;
+            compactIfMostlyDead();
+        });
+    }
+
+    private void update(int first, Rows rows) {
+        submit(() -> {
+            for (int i = 0; i < rows.rows.length && first + i < rowCount; i++) {
+                kill(rowToId[first + i]);
+                rowToId[first + i] = add(rows.textAt(i), first + i);
+            }
+            compactIfMostlyDead();
+        });
+    }
+
+    private void reset(String[] rowTexts) {
+        texts = new String[Math.max(1024, rowTexts.length)];
+        idToRow = new int[texts.length];
+        rowToId = new int[texts.length];
+        nextId = 0;
+        dead = 0;
+        postings = new Trigrams();
+        rowCount = rowTexts.length;
+        for (int row = 0; row < rowTexts.length; row++) rowToId[row] = add(rowTexts[row], row);
+    }
+
+    private void compactIfMostlyDead() {
+        if (dead < 1024 || dead < nextId - dead) return;
+        String[] live = new String[rowCount];
+        for (int row = 0; row < rowCount; row++) live[row] = texts[rowToId[row]];
+        reset(live);
+    }
+
+    private int add(String text, int row) {
+        int id = nextId++;
+        texts = ensure(texts, nextId);
+        idToRow = ensure(idToRow, nextId);
+        texts[id] = text;
+        idToRow[id] = row;
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            postings.get(trigram(text, i), true).add(id);
+        }
+        return id;
+    }
+
+    private void kill(int id) {
+        idToRow[id] = -1;
+        texts[id] = null;
+        dead++;
+    }
+
+    private BitSet matches(String query) {
+        BitSet rows = new BitSet(rowCount);
+        if (query.isEmpty()) {
+            rows.set(0, rowCount);
+            return rows;
+        }
+        if (query.length() < 3) {
+            for (int row = 0; row < rowCount; row++) {
+                if (texts[rowToId[row]].contains(query)) rows.set(row);
+            }
+            return rows;
+        }
+        Postings[] lists = new Postings[query.length() - 2];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = postings.get(trigram(query, i), false);
+            if (lists[i] == null) return rows;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+        // Intersect the shortest lists while that is cheaper than checking the remaining candidates' text directly.
+        int[] candidates = lists[0].decode();
+        int n = candidates.length;
+        for (int l = 1; l < lists.length && lists[l].size < n * 32L; l++) {
+            n = lists[l].retain(candidates, n);
+        }
+        for (int i = 0; i < n; i++) {
+            int id = candidates[i];
+            if (idToRow[id] >= 0 && texts[id].contains(query)) rows.set(idToRow[id]);
+        }
+        return rows;
+    }
+
+    private static long trigram(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+
+    private static int[] ensure(int[] array, int size) {
+        return size <= array.length ? array : Arrays.copyOf(array, Math.max(size, array.length * 2));
+    }
+
+    private static String[] ensure(String[] array, int size) {
+        return size <= array.length ? array : Arrays.copyOf(array, Math.max(size, array.length * 2));
+    }
+
+    /**
+     * The postings of each trigram, in an open addressing hash table so building the index does not box every key.
+     */
+    private static final class Trigrams {
+        private long[] keys = new long[1 << 12];
+        private Postings[] values = new Postings[keys.length];
+        private int size = 0;
+
+        Postings get(long key, boolean create) {
+            int mask = keys.length - 1;
+            int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+            while (values[slot] != null) {
+                if (keys[slot] == key) return values[slot];
+                slot = (slot + 1) & mask;
+            }
+            if (!create) return null;
+            if (++size > keys.length / 2) {
+                grow();
+                return get(key, true);
+            }
+            keys[slot] = key;
+            return values[slot] = new Postings();
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            Postings[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new Postings[keys.length];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] == null) continue;
+                int slot = Long.hashCode(oldKeys[i] * 0x9E3779B97F4A7C15L) & mask;
+                while (values[slot] != null) slot = (slot + 1) & mask;
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * The ids of the texts containing a trigram, ascending, each once, stored as variable length gaps: common
+     * trigrams, whose ids are close together, take about a byte per text.
+     */
+    private static final class Postings {
+        private byte[] bytes = new byte[4];
+        private int length = 0;
+        private int size = 0;
+        private int last = -1;
+
+        void add(int id) {
+            if (id == last) return;
+            if (length + 5 > bytes.length) bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            int gap = id - last;
+            while (gap >= 0x80) {
+                bytes[length++] = (byte) (gap | 0x80);
+                gap >>>= 7;
+            }
+            bytes[length++] = (byte) gap;
+            last = id;
+            size++;
+        }
+
+        int[] decode() {
+            int[] ids = new int[size];
+            int id = -1;
+            for (int i = 0, p = 0; i < size; i++) {
+                int gap = 0;
+                for (int shift = 0; ; shift += 7) {
+                    byte b = bytes[p++];
+                    gap |= (b & 0x7F) << shift;
+                    if (b >= 0) break;
+                }
+                ids[i] = id += gap;
+            }
+            return ids;
+        }
+
+        /**
+         * Keeps the first <code>n</code> of <code>ids</code>, ascending, that are also here.
+         *
+         * @return how many were kept.
+         */
+        int retain(int[] ids, int n) {
+            int kept = 0;
+            int id = -1;
+            int p = 0;
+            for (int i = 0; i < n; i++) {
+                while (id < ids[i] && p < length) {
+                    int gap = 0;
+                    for (int shift = 0; ; shift += 7) {
+                        byte b = bytes[p++];
+                        gap |= (b & 0x7F) << shift;
+                        if (b >= 0) break;
+                    }
+                    id += gap;
+                }
+                if (id == ids[i]) ids[kept++] = ids[i];
+                else if (id < ids[i]) break;
+            }
+            return kept;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.insilicalabs.swingbuilder.models;
+
+import javax.swing.JTable;
+import javax.swing.Timer;
+import javax.swing.table.AbstractTableModel;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * A table model for rows arriving from other threads faster than the table could repaint for each of them. Producers
+ * call <code>offer</code> from any thread; it never blocks and never waits for the EDT. A Swing timer drains what has
+ * arrived a bounded number of times per second, appending it all with a single rows inserted event per tick.
+ * <pre>
+ *     StreamingTableModel model = new StreamingTableModel(20, 100_000);
+ *     model.setRowFn((o) -&gt; ((Sample) o).cells());
+ *     table(model, followTail())
+ *     // on any thread
+ *     model.offer(sample);
+ * </pre>
+ * With a capacity, the oldest rows are dropped to make room, so the table shows a sliding window of the stream. Ticks
+ * that drop rows fire rows deleted for them before rows inserted for the new ones, so selection and sorting follow the
+ * rows that remain.
+ * <p>
+ *     The timer runs while a table showing the model is displayable, which the <code>tableModel</code> configurator
+ *     (and so <code>table(model)</code>) arranges with <code>runWhileDisplayable</code>; a table that is discarded
+ *     stops it, so neither the timer nor the model outlive the table. It can also be run with <code>start</code> and
+ *     <code>stop</code>.
+ * </p>
+ */
+public class StreamingTableModel extends AbstractTableModel implements DataTableModel {
+
+    private final ConcurrentLinkedQueue<Object> incoming = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final int capacity;
+    private final Timer timer;
+
+    // Only touched on the EDT. A circular buffer: row i is rows[(head + i) % rows.length].
+    private Object[] rows;
+    private int head = 0;
+    private int size = 0;
+    private List<String> columnNames = Collections.emptyList();
+    private Function<Object, Object[]> rowFn = (o) -> new Object[]{o};
+    private int columnCount = -1;
+
+    /**
+     * An unbounded model drained 30 times per second.
+     */
+    public StreamingTableModel() {
+        this(30, 0);
+    }
+
+    /**
+     * @param ticksPerSecond how often arrived rows are added to the table
+     * @param capacity       most rows kept, the oldest being dropped first, or 0 for no limit
+     */
+    public StreamingTableModel(int ticksPerSecond, int capacity) {
+        this.capacity = capacity;
+        this.rows = new Object[capacity > 0 ? capacity : 1024];
+        this.timer = new Timer(Math.max(1, 1000 / ticksPerSecond), (e) -> drain());
+        this.timer.setCoalesce(true);
+    }
+
+    /**
+     * Queues a row to be added on the next tick. May be called from any thread.
+     *
+     * @param row
+     */
+    public void offer(Object row) {
+        incoming.add(row);
+        pending.incrementAndGet();
+    }
+
+    /**
+     * Queues rows to be added on the next tick. May be called from any thread.
+     *
+     * @param rows
+     */
+    public void offerAll(Collection<?> rows) {
+        incoming.addAll(rows);
+        pending.addAndGet(rows.size());
+    }
+
+    /**
+     * @return the number of rows offered but not yet added to the table.
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Starts draining arrived rows on every tick, on the EDT.
+     */
+    public void start() {
+        timer.start();
+    }
+
+    /**
+     * Stops draining; rows offered meanwhile wait in the queue.
+     */
+    public void stop() {
+        timer.stop();
+    }
+
+    public boolean isRunning() {
+        return timer.isRunning();
+    }
+
+    /**
+     * Runs the timer while <code>table</code> is displayable and shows this model. Called by the
+     * <code>tableModel</code> configurator, on the EDT.
+     *
+     * @param table
+     */
+    public void runWhileDisplayable(JTable table) {
+        table.addHierarchyListener(new HierarchyListener() {
+            @Override
+            public void hierarchyChanged(HierarchyEvent e) {
+                if ((e.getChangeFlags() & HierarchyEvent.DISPLAYABILITY_CHANGED) == 0) return;
+                if (table.getModel() != StreamingTableModel.this) {
+                    table.removeHierarchyListener(this);
+                    stop();
+                } else if (table.isDisplayable()) {
+                    start();
+                } else {
+                    stop();
+                }
+            }
+        });
+        if (table.isDisplayable()) start();
+    }
+
+    /**
+     * Adds every row that has arrived. Runs on each tick; may also be called on the EDT to add them right away.
+     */
+    public void drain() {
+        int arrived = pending.get();
+        if (arrived == 0) return;
+        // Each count in pending follows its row into the queue, so there are at least this many rows. Rows that would
+        // be dropped in the same tick they arrive are never added.
+        int skipped = capacity > 0 ? Math.max(0, arrived - capacity) : 0;
+        for (int i = 0; i < skipped; i++) incoming.poll();
+        int added = arrived - skipped;
+        boolean wasEmpty = size == 0;
+
+        int evicted = capacity > 0 ? Math.max(0, size + added - capacity) : 0;
+        if (evicted > 0) {
+            for (int i = 0; i < evicted; i++) rows[(head + i) % rows.length] = null;
+            head = (head + evicted) % rows.length;
+            size -= evicted;
+            fireTableRowsDeleted(0, evicted - 1);
+        }
+
+        int oldSize = size;
+        for (int i = 0; i < added; i++) {
+            if (size == rows.length) grow();
+            rows[(head + size) % rows.length] = incoming.poll();
+            size++;
+        }
+        pending.addAndGet(-arrived);
+        if (wasEmpty) {
+            // The columns come from the first row.
+            columnCount = -1;
+            fireTableStructureChanged();
+        } else {
+            fireTableRowsInserted(oldSize, size - 1);
+        }
+    }
+
+    private void grow() {
+        Object[] grown = new Object[rows.length * 2];
+        for (int i = 0; i < size; i++) grown[i] = rows[(head + i) % rows.length];
+        rows = grown;
+        head = 0;
+    }
+
+    /**
+     * Replaces the rows shown with <code>data</code>, on the EDT. Rows already offered are still added afterwards.
+     *
+     * @param data
+     */
+    @Override
+    public void setData(List data) {
+        int kept = capacity > 0 ? Math.min(capacity, data.size()) : data.size();
+        rows = new Object[capacity > 0 ? capacity : Math.max(1024, kept)];
+        for (int i = 0; i < kept; i++) rows[i] = data.get(data.size() - kept + i);
+        head = 0;
+        size = kept;
+        columnCount = -1;
+        fireTableStructureChanged();
+    }
+
+    @Override
+    public void setColumnNames(List<String> columnNames) {
+        this.columnNames = columnNames;
+        fireTableStructureChanged();
+    }
+
+    public void setRowFn(Function<Object, Object[]> rowFn) {
+        this.rowFn = rowFn;
+        columnCount = -1;
+        fireTableStructureChanged();
+    }
+
+    @Override
+    public int getRowCount() {
+        return size;
+    }
+
+    @Override
+    public int getColumnCount() {
+        if (columnCount < 0) {
+            columnCount = size == 0 ? 0 : rowFn.apply(rows[head]).length;
+        }
+        return columnCount;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return column < columnNames.size() ? columnNames.get(column) : "";
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        return rowFn.apply(rows[(head + rowIndex) % rows.length])[columnIndex];
+    }
+}
@@ -0,0 +1,108 @@
+package swingbuilder;
+
+import com.insilicalabs.swingbuilder.models.ColumnAggregates;
+import com.insilicalabs.swingbuilder.models.SBTableModel;
+import org.junit.Test;
+
+import javax.swing.table.DefaultTableModel;
+import java.util.Arrays;
+
+import static com.insilicalabs.swingbuilder.models.ColumnAggregates.Aggregate.*;
+import static org.junit.Assert.*;
+
+public class ColumnAggregatesTest {
+    @Test public void followsInsertsUpdatesAndDeletes() {
+        SBTableModel model = new SBTableModel();
+        model.setData(Arrays.asList(5, 1, 9));
+        ColumnAggregates aggregates = new ColumnAggregates(model, 0);
+        assertEquals(15, aggregates.get(0, SUM), 0);
+
+        model.appendRows(Arrays.asList(20, "n/a"));
+        assertEquals(35, aggregates.get(0, SUM), 0);
+        assertEquals(4, aggregates.get(0, COUNT), 0);
+        assertEquals(20, aggregates.get(0, MAX), 0);
+
+        model.removeRows(3, 3);
+        model.updateRows(1, Arrays.asList(7));
+        assertEquals(9, aggregates.get(0, MAX), 0);
+        assertEquals(5, aggregates.get(0, MIN), 0);
+        assertEquals(7, aggregates.get(0, MEAN), 0);
+        assertEquals(21.0, aggregates.footerModel(SUM).getValueAt(0, 0));
+    }
+
+    @Test public void rescansOnDataAndStructureChanges() {
+        DefaultTableModel model = new DefaultTableModel(new Object[][]{{1, "a"}, {2, "b"}}, new Object[]{"n", "s"});
+        ColumnAggregates aggregates = new ColumnAggregates(model, 0);
+        int[] changes = new int[1];
+        aggregates.addChangeListener((e) -> changes[0]++);
+
+        model.getDataVector().get(0).set(0, 10);
+        model.fireTableDataChanged();
+        assertEquals(12, aggregates.get(0, SUM), 0);
+        assertEquals(10, aggregates.get(0, MAX), 0);
+        assertEquals(1, changes[0]);
+
+        model.setDataVector(new Object[][]{{"x"}}, new Object[]{"s"});
+        model.setColumnIdentifiers(new Object[0]);
+        assertEquals(0, aggregates.get(0, SUM), 0);
+        assertEquals(0, aggregates.get(0, COUNT), 0);
+        assertTrue(Double.isNaN(aggregates.get(0, MIN)));
+
+        model.setDataVector(new Object[][]{{3}, {4}, {5}}, new Object[]{"n"});
+        assertEquals(12, aggregates.get(0, SUM), 0);
+        assertEquals(3, aggregates.get(0, COUNT), 0);
+        assertEquals(3, aggregates.get(0, MIN), 0);
+    }
+
+    @Test public void duplicateMinAndMaxValuesAreRemovedOneAtATime() {
+        DefaultTableModel model = new DefaultTableModel(new Object[][]{{1}, {5}, {3}, {1}, {5}}, new Object[]{"n"});
+        ColumnAggregates aggregates = new ColumnAggregates(model, 0);
+
+        model.removeRow(0);
+        assertEquals(1, aggregates.get(0, MIN), 0);
+        model.setValueAt(2, 2, 0);
+        assertEquals(2, aggregates.get(0, MIN), 0);
+
+        model.setValueAt(4, 0, 0);
+        assertEquals(5, aggregates.get(0, MAX), 0);
+        model.removeRow(3);
+        assertEquals(4, aggregates.get(0, MAX), 0);
+        assertEquals(9, aggregates.get(0, SUM), 0);
+    }
+
+    @Test public void cellsThatBecomeNumbersAreCountedAndViceVersa() {
+        DefaultTableModel model = new DefaultTableModel(new Object[][]{{"n/a"}, {null}, {4}}, new Object[]{"n"});
+        ColumnAggregates aggregates = new ColumnAggregates(model, 0);
+        assertEquals(1, aggregates.get(0, COUNT), 0);
+
+        model.setValueAt(2, 0, 0);
+        model.setValueAt(6.5, 1, 0);
+        assertEquals(3, aggregates.get(0, COUNT), 0);
+        assertEquals(12.5, aggregates.get(0, SUM), 0);
+        assertEquals(2, aggregates.get(0, MIN), 0);
+
+        model.setValueAt(Double.NaN, 1, 0);
+        model.setValueAt("gone", 2, 0);
+        assertEquals(1, aggregates.get(0, COUNT), 0);
+        assertEquals(2, aggregates.get(0, SUM), 0);
+        assertEquals(2, aggregates.get(0, MAX), 0);
+
+        model.setValueAt(null, 0, 0);
+        assertEquals(0, aggregates.get(0, COUNT), 0);
+        assertEquals(0, aggregates.get(0, SUM), 0);
+        assertTrue(Double.isNaN(aggregates.get(0, MEAN)));
+    }
+
+    @Test public void sumIsCompensatedForLostLowOrderDigits() {
+        DefaultTableModel model = new DefaultTableModel(new Object[][]{{1e16}, {1.0}, {-1e16}}, new Object[]{"n"});
+        ColumnAggregates aggregates = new ColumnAggregates(model, 0);
+        assertEquals(1, aggregates.get(0, SUM), 0);
+
+        model.setValueAt(3.0, 1, 0);
+        assertEquals(3, aggregates.get(0, SUM), 0);
+        model.removeRow(0);
+        model.addRow(new Object[]{1e16});
+        assertEquals(3, aggregates.get(0, SUM), 0);
+        assertEquals(1, aggregates.get(0, MEAN), 0);
+    }
+}
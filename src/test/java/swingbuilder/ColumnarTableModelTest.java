@@ -0,0 +1,105 @@
+package swingbuilder;
+
+import com.insilicalabs.swingbuilder.models.ColumnAggregates;
+import com.insilicalabs.swingbuilder.models.ColumnarTableModel;
+import org.junit.Test;
+
+import javax.swing.JTable;
+import javax.swing.event.TableModelEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.insilicalabs.swingbuilder.Configurators.columnNames;
+import static com.insilicalabs.swingbuilder.Configurators.data;
+import static com.insilicalabs.swingbuilder.Creators.table;
+import static org.junit.Assert.*;
+
+public class ColumnarTableModelTest {
+    @Test public void storesRowsAcrossChunksThroughTableConfigurators() {
+        ColumnarTableModel model = new ColumnarTableModel();
+        model.addIntColumn("Index", (o) -> ((int[]) o)[0]);
+        model.addDoubleColumn("Half", (o) -> ((int[]) o)[0] / 2.0);
+        List<int[]> rows = new ArrayList<>();
+        for (int i = 0; i < 40000; i++) rows.add(new int[]{i});
+
+        JTable table = table(model, data(rows), columnNames(Arrays.asList("I")));
+
+        assertSame(model, table.getModel());
+        assertEquals(40000, model.getRowCount());
+        assertEquals(39999, model.getValueAt(39999, 0));
+        assertEquals(19999.5, model.getDouble(39999, 1), 0);
+        assertEquals(Double.class, model.getColumnClass(1));
+        assertEquals("I", model.getColumnName(0));
+        assertEquals("Half", model.getColumnName(1));
+
+        model.appendRows(Arrays.asList(new int[]{7}));
+        assertEquals(7, model.getInt(40000, 0));
+    }
+
+    @Test public void updatesAndRemovesRowsAcrossChunksAndFeedsAggregates() {
+        ColumnarTableModel model = new ColumnarTableModel();
+        model.addIntColumn("Index", (o) -> ((int[]) o)[0]);
+        model.addObjectColumn("Label", (o) -> "r" + ((int[]) o)[0]);
+        List<int[]> rows = new ArrayList<>();
+        for (int i = 0; i < 40000; i++) rows.add(new int[]{i});
+        model.setData(rows);
+        ColumnAggregates totals = new ColumnAggregates(model, 0);
+        List<TableModelEvent> events = new ArrayList<>();
+        model.addTableModelListener(events::add);
+
+        model.updateRow(5, new int[]{-5});
+        assertEquals(-5, model.getInt(5, 0));
+        assertEquals("r-5", model.getValueAt(5, 1));
+        assertEquals(TableModelEvent.UPDATE, events.get(0).getType());
+        assertEquals(5, events.get(0).getFirstRow());
+        assertEquals(5, events.get(0).getLastRow());
+
+        // Straddles the first chunk boundary and leaves a short last chunk.
+        model.removeRows(16000, 33999);
+        assertEquals(22000, model.getRowCount());
+        assertEquals(15999, model.getInt(15999, 0));
+        assertEquals(34000, model.getInt(16000, 0));
+        assertEquals(39999, model.getInt(21999, 0));
+        assertEquals("r39999", model.getValueAt(21999, 1));
+        assertEquals(TableModelEvent.DELETE, events.get(1).getType());
+        assertEquals(16000, events.get(1).getFirstRow());
+        assertEquals(33999, events.get(1).getLastRow());
+
+        double expected = 0;
+        for (int i = 0; i < model.getRowCount(); i++) expected += model.getInt(i, 0);
+        assertEquals(expected, totals.get(0, ColumnAggregates.Aggregate.SUM), 0);
+        assertEquals(22000, totals.get(0, ColumnAggregates.Aggregate.COUNT), 0);
+
+        model.appendRows(Arrays.asList(new int[]{1}));
+        assertEquals(1, model.getInt(22000, 0));
+    }
+
+    @Test public void rejectsColumnsAndRowsThatDoNotFit() {
+        ColumnarTableModel model = new ColumnarTableModel();
+        model.addIntColumn("Index", (o) -> (Integer) o);
+        model.setData(Arrays.asList(1, 2, 3));
+
+        try {
+            model.addDoubleColumn("Late", (o) -> 0);
+            fail("A column added after the rows would have no values for them.");
+        } catch (IllegalStateException expected) {
+        }
+        assertEquals(1, model.getColumnCount());
+        try {
+            model.removeRows(2, 3);
+            fail();
+        } catch (IndexOutOfBoundsException expected) {
+        }
+        try {
+            model.updateRow(-1, 0);
+            fail();
+        } catch (IndexOutOfBoundsException expected) {
+        }
+
+        model.setData(Arrays.asList());
+        model.addDoubleColumn("Now", (o) -> 0.5);
+        model.appendRows(Arrays.asList(4));
+        assertEquals(0.5, model.getDouble(0, 1), 0);
+    }
+}
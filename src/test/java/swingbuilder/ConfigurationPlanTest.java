@@ -0,0 +1,68 @@
+package swingbuilder;
+
+import com.insilicalabs.swingbuilder.ConfigurationPlan;
+import com.insilicalabs.swingbuilder.SwingBuilderBase;
+import org.junit.Test;
+
+import javax.swing.BorderFactory;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import javax.swing.border.Border;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.insilicalabs.swingbuilder.Configurators.name;
+import static com.insilicalabs.swingbuilder.Configurators.tooltip;
+import static com.insilicalabs.swingbuilder.Creators.panel;
+import static org.junit.Assert.*;
+import static swingbuilder.SwingBuilderBaseTest.recordThread;
+
+public class ConfigurationPlanTest {
+    @Test public void compileFlattensConvertsAndSkipsExcluded() {
+        Border border = BorderFactory.createEmptyBorder(1, 2, 3, 4);
+        ConfigurationPlan inner = ConfigurationPlan.compile(JPanel.class, tooltip("tip"), SwingBuilderBase.EXCLUDED);
+        ConfigurationPlan plan = ConfigurationPlan.compile(JPanel.class,
+                name("row"),
+                new Object[]{border, Arrays.asList(SwingBuilderBase.EXCLUDED, SwingBuilderBase.includeWhen(false, name("no")))},
+                inner);
+
+        assertEquals(1, inner.size());
+        assertEquals(3, plan.size());
+        for (int i = 0; i < 2; i++) {
+            JPanel row = panel(plan);
+            assertEquals("row", row.getName());
+            assertSame(border, row.getBorder());
+            assertEquals("tip", row.getToolTipText());
+        }
+    }
+
+    @Test public void planRunsInOneEdtTask() {
+        ConfigurationPlan plan = ConfigurationPlan.compile(JPanel.class, name("row"), tooltip("tip"), name("renamed"));
+        long trips = SwingBuilderBase.getEdtRoundTrips();
+        JPanel row = SwingBuilderBase.configure(new JPanel(), plan);
+        assertEquals(1, SwingBuilderBase.getEdtRoundTrips() - trips);
+        assertEquals("renamed", row.getName());
+    }
+
+    @Test public void planOnlyNeedsTheEdtWhenAStepDoes() throws Exception {
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        ConfigurationPlan detached = ConfigurationPlan.compile(JPanel.class,
+                recordThread(threads, false), recordThread(threads, false), recordThread(threads, false));
+        ConfigurationPlan onEdt = ConfigurationPlan.compile(JPanel.class, detached, recordThread(threads, true));
+        Thread[] edt = new Thread[1];
+        SwingUtilities.invokeAndWait(() -> edt[0] = Thread.currentThread());
+
+        long trips = SwingBuilderBase.getEdtRoundTrips();
+        SwingBuilderBase.buildDetached(() -> SwingBuilderBase.configure(new JPanel(), detached));
+        assertEquals(0, SwingBuilderBase.getEdtRoundTrips() - trips);
+        for (Thread t : threads) assertSame(Thread.currentThread(), t);
+
+        threads.clear();
+        trips = SwingBuilderBase.getEdtRoundTrips();
+        SwingBuilderBase.buildDetached(() -> SwingBuilderBase.configure(new JPanel(), onEdt));
+        assertEquals(1, SwingBuilderBase.getEdtRoundTrips() - trips);
+        assertEquals(4, threads.size());
+        for (Thread t : threads) assertSame(edt[0], t);
+    }
+}
@@ -0,0 +1,186 @@
+package swingbuilder;
+
+import com.insilicalabs.swingbuilder.ComponentPool;
+import com.insilicalabs.swingbuilder.SwingBuilderBase;
+import com.insilicalabs.swingbuilder.components.FastTableCellRenderer;
+import org.junit.Test;
+
+import javax.swing.AbstractAction;
+import javax.swing.ButtonGroup;
+import javax.swing.DefaultButtonModel;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.KeyStroke;
+import javax.swing.event.AncestorEvent;
+import javax.swing.event.AncestorListener;
+import javax.swing.JPanel;
+import javax.swing.JTable;
+import java.awt.event.ActionEvent;
+import java.awt.event.ContainerAdapter;
+import java.awt.event.MouseAdapter;
+import java.util.Arrays;
+
+import static com.insilicalabs.swingbuilder.Configurators.buttonGroup;
+import static com.insilicalabs.swingbuilder.Configurators.fastRenderers;
+import static com.insilicalabs.swingbuilder.Configurators.reconcile;
+import static com.insilicalabs.swingbuilder.Configurators.replacecontents;
+import static com.insilicalabs.swingbuilder.Configurators.text;
+import static com.insilicalabs.swingbuilder.Creators.button;
+import static com.insilicalabs.swingbuilder.Creators.label;
+import static com.insilicalabs.swingbuilder.Creators.table;
+import static org.junit.Assert.*;
+
+public class ConfiguratorsTest {
+    @Test public void reconcileReusesChildrenByKey() {
+        JPanel panel = new JPanel();
+        SwingBuilderBase.configure(panel, reconcile(Arrays.asList("a", "b", "c"), (s) -> s, JLabel::new, (s, l) -> {}));
+        JLabel b = (JLabel) panel.getComponent(1);
+
+        SwingBuilderBase.configure(panel, reconcile(Arrays.asList("d", "b", "a"), (s) -> s, JLabel::new,
+            (s, l) -> l.setText(s.toUpperCase())));
+
+        assertEquals(3, panel.getComponentCount());
+        assertEquals("d", ((JLabel) panel.getComponent(0)).getText());
+        assertSame(b, panel.getComponent(1));
+        assertEquals("B", b.getText());
+        assertEquals("A", ((JLabel) panel.getComponent(2)).getText());
+    }
+
+    @Test public void replacecontentsRecyclesPooledComponents() {
+        ComponentPool.enable(JLabel.class, 10);
+        try {
+            JPanel panel = new JPanel();
+            JLabel first = label("first");
+            int listeners = first.getMouseListeners().length;
+            first.addMouseListener(new MouseAdapter() {});
+            SwingBuilderBase.configure(panel, replacecontents(first));
+
+            SwingBuilderBase.configure(panel, replacecontents(label("second")));
+            assertEquals(1, ComponentPool.getIdleCount(JLabel.class));
+            assertEquals("", first.getText());
+            assertEquals(listeners, first.getMouseListeners().length);
+
+            assertSame(first, label("third"));
+            assertEquals(1, ComponentPool.getHits(JLabel.class));
+            assertEquals(2, ComponentPool.getMisses(JLabel.class));
+        } finally {
+            ComponentPool.disable(JLabel.class);
+        }
+    }
+
+    @Test public void recycledComponentsKeepNothingOfTheirPreviousOwner() {
+        ComponentPool.enable(JButton.class, 10);
+        try {
+            JPanel panel = new JPanel();
+            ButtonGroup group = new ButtonGroup();
+            JButton other = button("other", buttonGroup(group));
+            JButton first = button("first", buttonGroup(group));
+            int propertyListeners = first.getPropertyChangeListeners().length;
+            int actionListeners = first.getActionListeners().length;
+            int boundKeys = first.getInputMap().size();
+            int[] calls = new int[1];
+            first.addPropertyChangeListener((e) -> calls[0]++);
+            first.addAncestorListener(new AncestorListener() {
+                @Override public void ancestorAdded(AncestorEvent event) {}
+                @Override public void ancestorRemoved(AncestorEvent event) {}
+                @Override public void ancestorMoved(AncestorEvent event) {}
+            });
+            first.addContainerListener(new ContainerAdapter() {});
+            first.addActionListener((e) -> {});
+            first.getInputMap().put(KeyStroke.getKeyStroke("F5"), "refresh");
+            first.getActionMap().put("refresh", new AbstractAction() {
+                @Override public void actionPerformed(ActionEvent e) {}
+            });
+            first.putClientProperty("owner", "previous");
+            first.setSelected(true);
+            SwingBuilderBase.configure(panel, replacecontents(first));
+            SwingBuilderBase.configure(panel, replacecontents(new JLabel()));
+
+            calls[0] = 0;
+            JButton reused = button("reused");
+            assertSame(first, reused);
+            assertEquals(0, calls[0]);
+            assertEquals(propertyListeners, reused.getPropertyChangeListeners().length);
+            assertEquals(actionListeners, reused.getActionListeners().length);
+            assertEquals(0, reused.getAncestorListeners().length);
+            assertEquals(0, reused.getContainerListeners().length);
+            assertEquals(boundKeys, reused.getInputMap().size());
+            assertNull(reused.getActionMap().get("refresh"));
+            assertNull(reused.getClientProperty("owner"));
+            assertEquals("reused", reused.getText());
+            assertNull(((DefaultButtonModel) reused.getModel()).getGroup());
+            assertFalse(reused.isSelected());
+            assertEquals(1, group.getButtonCount());
+            assertNull(group.getSelection());
+            assertSame(other, group.getElements().nextElement());
+        } finally {
+            ComponentPool.disable(JButton.class);
+        }
+    }
+
+    @Test public void fastRenderersFormatNumbers() {
+        JTable table = table(fastRenderers());
+        FastTableCellRenderer renderer = (FastTableCellRenderer) table.getDefaultRenderer(Double.class);
+
+        renderer.getTableCellRendererComponent(table, 1234.5, false, false, 0, 0);
+        assertEquals(java.text.NumberFormat.getInstance().format(1234.5), renderer.getText());
+        assertSame(renderer, table.getDefaultRenderer(Integer.class));
+    }
+
+    @Test public void fastRendererCutsTextThatDoesNotFitWithAnEllipsis() {
+        JTable table = table(fastRenderers());
+        FastTableCellRenderer renderer = (FastTableCellRenderer) table.getDefaultRenderer(Double.class);
+        renderer.getTableCellRendererComponent(table, 12345678, false, false, 0, 0);
+        String full = java.text.NumberFormat.getInstance().format(12345678);
+        int fullWidth = renderer.getFontMetrics(renderer.getFont()).stringWidth(full);
+
+        renderer.setSize(fullWidth + 4, 16);
+        assertEquals(full, renderer.getDisplayedText());
+        renderer.setSize(fullWidth / 2, 16);
+        String shown = renderer.getDisplayedText();
+        assertTrue(shown, shown.endsWith("..."));
+        assertTrue(shown, full.startsWith(shown.substring(0, shown.length() - 3)));
+        assertTrue(renderer.getFontMetrics(renderer.getFont()).stringWidth(shown) <= fullWidth / 2 - 4);
+    }
+
+    @Test public void fastDateRendererFormatsSqlDates() {
+        JTable table = table(fastRenderers());
+        FastTableCellRenderer renderer = (FastTableCellRenderer) table.getDefaultRenderer(java.util.Date.class);
+
+        renderer.getTableCellRendererComponent(table, java.sql.Date.valueOf("2024-02-29"), false, false, 0, 0);
+        assertEquals("2024-02-29 00:00:00", renderer.getText());
+        renderer.getTableCellRendererComponent(table, java.sql.Time.valueOf("13:45:10"), false, false, 0, 0);
+        assertTrue(renderer.getText().endsWith(" 13:45:10"));
+    }
+
+    /**
+     * A component whose setText throws whatever it is given.
+     */
+    public static class ThrowingPanel extends JPanel {
+        private final RuntimeException exception;
+        private final Error error;
+
+        ThrowingPanel(RuntimeException exception, Error error) {
+            this.exception = exception;
+            this.error = error;
+        }
+
+        public void setText(String text) {
+            if (exception != null) throw exception;
+            throw error;
+        }
+    }
+
+    @Test public void invokeIfPresentLogsExceptionsButRethrowsErrors() {
+        // Detached, so the configurators run here and not wrapped by invokeAndWait.
+        SwingBuilderBase.buildDetached(() -> SwingBuilderBase.configure(
+                new ThrowingPanel(new IllegalStateException("logged"), null), text("ignored")));
+        AssertionError error = new AssertionError("rethrown");
+        try {
+            SwingBuilderBase.buildDetached(() -> SwingBuilderBase.configure(new ThrowingPanel(null, error), text("x")));
+            fail("The Error should not have been swallowed.");
+        } catch (AssertionError e) {
+            assertSame(error, e);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package swingbuilder;
+
+import com.insilicalabs.swingbuilder.Creators;
+import com.insilicalabs.swingbuilder.SwingBuilderBase;
+import net.miginfocom.layout.AC;
+import net.miginfocom.layout.CC;
+import net.miginfocom.layout.ConstraintParser;
+import net.miginfocom.layout.LC;
+import net.miginfocom.swing.MigLayout;
+import org.junit.Test;
+
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.insilicalabs.swingbuilder.Configurators.contents;
+import static com.insilicalabs.swingbuilder.Configurators.layout;
+import static com.insilicalabs.swingbuilder.Configurators.name;
+import static com.insilicalabs.swingbuilder.Configurators.visible;
+import static com.insilicalabs.swingbuilder.Creators.label;
+import static com.insilicalabs.swingbuilder.Creators.panel;
+import static org.junit.Assert.*;
+import static swingbuilder.SwingBuilderBaseTest.recordThread;
+
+public class CreatorsTest {
+    @Test(timeout = 10000) public void parallelOnTheEdtBuildsDetachedAndFailsFastWhenASubtreeNeedsTheEdt()
+            throws Exception {
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        JPanel shown = new JPanel();
+        Object[][] built = new Object[1][];
+        RuntimeException[] failure = new RuntimeException[1];
+        Thread[] edt = new Thread[1];
+        Supplier<JPanel> hidden = () -> panel(visible(false), name("hidden"), label("a", recordThread(threads, false)));
+        Supplier<JPanel> other = () -> panel(name("other"));
+        // Configuring a displayable component needs the EDT.
+        Supplier<JPanel> needsEdt = () -> SwingBuilderBase.configure(shown, name("shown"));
+        SwingUtilities.invokeAndWait(() -> {
+            edt[0] = Thread.currentThread();
+            shown.addNotify();
+            built[0] = Creators.parallel(hidden, "grow", other);
+            try {
+                Creators.parallel(needsEdt);
+            } catch (IllegalStateException e) {
+                failure[0] = e;
+            }
+        });
+
+        assertEquals(3, built[0].length);
+        assertEquals("hidden", ((JPanel) built[0][0]).getName());
+        assertFalse(((JPanel) built[0][0]).isVisible());
+        assertEquals("grow", built[0][1]);
+        assertEquals("other", ((JPanel) built[0][2]).getName());
+        assertEquals(1, threads.size());
+        assertNotSame(edt[0], threads.get(0));
+        assertNotNull(failure[0]);
+        assertNull(shown.getName());
+
+        // Off the EDT the same subtree just waits its turn.
+        Creators.parallel(needsEdt);
+        assertEquals("shown", shown.getName());
+    }
+
+    @Test public void lazyBuildsItsContentsOnceWhenFirstShown() throws Exception {
+        AtomicInteger builds = new AtomicInteger();
+        SwingUtilities.invokeAndWait(() -> {
+            JPanel placeholder = Creators.lazy(() -> label("built " + builds.incrementAndGet()));
+            JPanel root = new JPanel();
+            root.add(placeholder);
+            assertEquals(0, builds.get());
+            assertEquals(0, placeholder.getComponentCount());
+
+            root.addNotify();
+            assertTrue(placeholder.isShowing());
+            assertEquals(1, builds.get());
+            assertEquals("built 1", ((JLabel) placeholder.getComponent(0)).getText());
+
+            root.setVisible(false);
+            root.setVisible(true);
+            assertEquals(1, builds.get());
+            assertEquals(1, placeholder.getComponentCount());
+        });
+    }
+
+    @Test public void lazyWithAnExecutorBuildsDetachedOffTheEdt() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        JPanel[] placeholders = new JPanel[2];
+        Thread[] edt = new Thread[1];
+        SwingUtilities.invokeAndWait(() -> {
+            edt[0] = Thread.currentThread();
+            placeholders[0] = Creators.lazy(() -> label("built", recordThread(threads, false)), executor);
+            placeholders[1] = Creators.lazy(() -> {
+                throw new IllegalStateException("no data");
+            }, executor);
+            JPanel root = new JPanel();
+            root.add(placeholders[0]);
+            root.add(placeholders[1]);
+            root.addNotify();
+            assertEquals("Loading...", ((JLabel) placeholders[0].getComponent(0)).getText());
+        });
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        // The finished contents are put in place by a later EDT task.
+        SwingUtilities.invokeAndWait(() -> {});
+
+        assertEquals(1, threads.size());
+        assertNotSame(edt[0], threads.get(0));
+        assertEquals("built", ((JLabel) placeholders[0].getComponent(0)).getText());
+        assertEquals("Could not load.", ((JLabel) placeholders[1].getComponent(0)).getText());
+    }
+
+    private static final String[] COMPONENT_CONSTRAINTS = {
+        "", "growx, wrap", "span 2, align right", "gap 5 10, sizegroup labels", "w 100:200:300, growx, pushx",
+        "skip, newline 15, wrap 20", "cell 1 2 3 4, hidemode 3, id name, tag ok", "pos 10 10 50% 50%, pad 1 2 3 4",
+        "dock north, external, shrinkprio 5, growprio 7, endgroupx g, flowy"
+    };
+
+    @Test public void migConstraintsAreParsedOnceButNeverShared() throws Exception {
+        for (String constraint : COMPONENT_CONSTRAINTS) {
+            JPanel[] panels = new JPanel[2];
+            JLabel[] labels = new JLabel[2];
+            for (int i = 0; i < 2; i++) {
+                labels[i] = new JLabel();
+                panels[i] = panel(layout(Creators.migLayout("insets 5, fillx, wrap 3, debug 100", "[right][grow, fill]",
+                        "[]10[]")), contents(labels[i], constraint));
+            }
+            CC first = (CC) ((MigLayout) panels[0].getLayout()).getComponentConstraints(labels[0]);
+            CC second = (CC) ((MigLayout) panels[1].getLayout()).getComponentConstraints(labels[1]);
+            assertNotSame(first, second);
+            assertNotSame(first.getHorizontal(), second.getHorizontal());
+            assertSameConstraints(ConstraintParser.parseComponentConstraint(ConstraintParser.prepare(constraint)), first);
+
+            first.setSpanX(9);
+            first.getHorizontal().setGrow(42f);
+            assertSameConstraints(ConstraintParser.parseComponentConstraint(ConstraintParser.prepare(constraint)), second);
+        }
+
+        MigLayout one = Creators.migLayout("insets 5, fillx, wrap 3, nocache", "[right][grow, fill]", "[]10[]");
+        MigLayout two = Creators.migLayout("insets 5, fillx, wrap 3, nocache", "[right][grow, fill]", "[]10[]");
+        assertNotSame(one.getLayoutConstraints(), two.getLayoutConstraints());
+        assertNotSame(((AC) one.getColumnConstraints()).getConstaints()[0], ((AC) two.getColumnConstraints()).getConstaints()[0]);
+        assertSameConstraints(ConstraintParser.parseLayoutConstraint(ConstraintParser.prepare("insets 5, fillx, wrap 3, nocache")),
+                (LC) one.getLayoutConstraints());
+        assertSameConstraints(ConstraintParser.parseColumnConstraints(ConstraintParser.prepare("[right][grow, fill]")),
+                (AC) one.getColumnConstraints());
+        assertSameConstraints(ConstraintParser.parseRowConstraints(ConstraintParser.prepare("[]10[]")),
+                (AC) one.getRowConstraints());
+        assertSameConstraints(ConstraintParser.parseRowConstraints(ConstraintParser.prepare("")),
+                (AC) Creators.migLayout("", "", null).getRowConstraints());
+    }
+
+    /**
+     * Compares MigLayout constraint objects field by field, so a copy missing a field fails.
+     */
+    private static void assertSameConstraints(Object expected, Object actual) throws IllegalAccessException {
+        if (expected == actual) return;
+        assertNotNull(expected);
+        assertNotNull(actual);
+        assertEquals(expected.getClass(), actual.getClass());
+        if (expected.getClass().isArray()) {
+            assertEquals(Array.getLength(expected), Array.getLength(actual));
+            for (int i = 0; i < Array.getLength(expected); i++) {
+                assertSameConstraints(Array.get(expected, i), Array.get(actual, i));
+            }
+        } else if (expected instanceof List) {
+            assertSameConstraints(((List<?>) expected).toArray(), ((List<?>) actual).toArray());
+        } else if (expected.getClass().getName().startsWith("net.miginfocom.layout.")) {
+            for (Class<?> type = expected.getClass(); type != Object.class; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) continue;
+                    // Transient fields are caches, or part of immutable values compared as a whole through toString.
+                    if (Modifier.isTransient(field.getModifiers())) continue;
+                    field.setAccessible(true);
+                    assertSameConstraints(field.get(expected), field.get(actual));
+                }
+            }
+            if (expected.getClass().getSimpleName().matches("UnitValue|BoundSize")) {
+                assertEquals(expected.toString(), actual.toString());
+            }
+        } else {
+            assertEquals(expected, actual);
+        }
+    }
+}
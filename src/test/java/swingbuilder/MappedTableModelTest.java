@@ -0,0 +1,63 @@
+package swingbuilder;
+
+import com.insilicalabs.swingbuilder.models.MappedRecordTableModel;
+import com.insilicalabs.swingbuilder.models.MappedTextTableModel;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+public class MappedTableModelTest {
+    @Test public void decodesFixedWidthRecords() throws Exception {
+        Path path = Files.createTempFile("records", ".bin");
+        ByteBuffer bytes = ByteBuffer.allocate(4 + 3 * 12).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.putInt(0xCAFE);
+        for (int i = 0; i < 3; i++) bytes.putInt(i).putDouble(i * 1.5);
+        Files.write(path, bytes.array());
+
+        try (MappedRecordTableModel model = new MappedRecordTableModel(path, 4, 12, ByteOrder.LITTLE_ENDIAN)) {
+            model.addIntColumn("Index", 0);
+            model.addDoubleColumn("Value", 4);
+            assertEquals(3, model.getRowCount());
+            assertEquals(2, model.getValueAt(2, 0));
+            assertEquals(3.0, model.getDouble(2, 1), 0);
+            try {
+                model.addLongColumn("Overlapping", 8);
+                fail("a field past the end of the record was accepted");
+            } catch (IllegalArgumentException expected) {
+                assertEquals(2, model.getColumnCount());
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class) public void rejectsRecordsLargerThanASegment() throws Exception {
+        Path path = Files.createTempFile("records", ".bin");
+        try {
+            new MappedRecordTableModel(path, 0, (1 << 30) + 1, ByteOrder.LITTLE_ENDIAN).close();
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test public void indexesDelimitedTextInTheBackground() throws Exception {
+        Path path = Files.createTempFile("rows", ".csv");
+        Files.write(path, "name,size\r\na,1\nb,\nc,3".getBytes(StandardCharsets.UTF_8));
+
+        try (MappedTextTableModel model = new MappedTextTableModel(path, ',', true)) {
+            model.getIndexed().get();
+            assertEquals(3, model.getRowCount());
+            assertEquals("size", model.getColumnName(1));
+            assertEquals("", model.getValueAt(1, 1));
+            assertEquals("3", model.getValueAt(2, 1));
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
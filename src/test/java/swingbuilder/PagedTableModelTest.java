@@ -0,0 +1,146 @@
+package swingbuilder;
+
+import com.insilicalabs.swingbuilder.models.PagedTableModel;
+import org.junit.Test;
+
+import javax.swing.SwingUtilities;
+import javax.swing.event.TableModelEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class PagedTableModelTest {
+    @Test public void loadsPagesOnDemandAndPrefetchesAhead() throws Exception {
+        List<Integer> loaded = new ArrayList<>();
+        PagedTableModel model = new PagedTableModel(1000, 10, 4, (first, count) -> {
+            loaded.add(first);
+            return IntStream.range(first, first + count).boxed().collect(Collectors.toList());
+        }, Runnable::run);
+        model.setColumnNames(Arrays.asList("N"));
+
+        SwingUtilities.invokeAndWait(() -> assertSame(PagedTableModel.LOADING, model.getValueAt(25, 0)));
+        SwingUtilities.invokeAndWait(() -> {
+            assertEquals(25, model.getValueAt(25, 0));
+            assertTrue(model.isLoaded(35));
+            assertFalse(model.isLoaded(45));
+        });
+        assertEquals(Arrays.asList(30, 20), loaded);
+    }
+
+    @Test public void dropsTheLeastRecentlyShownPageBeyondMaxPages() throws Exception {
+        List<Integer> loaded = new ArrayList<>();
+        PagedTableModel model = new PagedTableModel(1000, 10, 2, (first, count) -> {
+            loaded.add(first);
+            return IntStream.range(first, first + count).boxed().collect(Collectors.toList());
+        }, Runnable::run);
+        model.setColumnNames(Arrays.asList("N"));
+        model.setPrefetch(0);
+
+        SwingUtilities.invokeAndWait(() -> {
+            model.getValueAt(5, 0);
+            model.getValueAt(15, 0);
+        });
+        SwingUtilities.invokeAndWait(() -> {
+            assertEquals(5, model.getValueAt(5, 0));
+            model.getValueAt(25, 0);
+        });
+        SwingUtilities.invokeAndWait(() -> {
+            assertTrue(model.isLoaded(5));
+            assertFalse(model.isLoaded(15));
+            assertTrue(model.isLoaded(25));
+            assertSame(PagedTableModel.LOADING, model.getValueAt(15, 0));
+        });
+        assertEquals(Arrays.asList(0, 10, 20, 10), loaded);
+    }
+
+    @Test public void loadsStartedBeforeReloadAreDropped() throws Exception {
+        List<Runnable> queued = new ArrayList<>();
+        List<Integer> loaded = new ArrayList<>();
+        PagedTableModel model = new PagedTableModel(100, 10, 4, (first, count) -> {
+            loaded.add(first);
+            return IntStream.range(first, first + count).map((i) -> -i).boxed().collect(Collectors.toList());
+        }, queued::add);
+        model.setColumnNames(Arrays.asList("N"));
+
+        SwingUtilities.invokeAndWait(() -> {
+            assertSame(PagedTableModel.LOADING, model.getValueAt(5, 0));
+            model.reload();
+        });
+        queued.remove(0).run();
+        SwingUtilities.invokeAndWait(() -> {
+            assertFalse(model.isLoaded(5));
+            assertSame(PagedTableModel.LOADING, model.getValueAt(5, 0));
+        });
+        assertEquals(1, queued.size());
+        queued.remove(0).run();
+        SwingUtilities.invokeAndWait(() -> assertEquals(-5, model.getValueAt(5, 0)));
+        assertEquals(Arrays.asList(0, 0), loaded);
+    }
+
+    @Test public void failedPagesShowFailedUntilReloaded() throws Exception {
+        List<Integer> loaded = new ArrayList<>();
+        boolean[] fail = {true};
+        PagedTableModel model = new PagedTableModel(100, 10, 4, (first, count) -> {
+            loaded.add(first);
+            if (fail[0]) throw new Exception("offline");
+            return IntStream.range(first, first + count).boxed().collect(Collectors.toList());
+        }, Runnable::run);
+        model.setColumnNames(Arrays.asList("N"));
+        model.setPrefetch(0);
+        List<TableModelEvent> events = new ArrayList<>();
+        model.addTableModelListener(events::add);
+
+        SwingUtilities.invokeAndWait(() -> assertSame(PagedTableModel.LOADING, model.getValueAt(5, 0)));
+        SwingUtilities.invokeAndWait(() -> {
+            assertEquals(1, events.size());
+            assertEquals(0, events.get(0).getFirstRow());
+            assertEquals(9, events.get(0).getLastRow());
+            assertTrue(model.isFailed(5));
+            assertFalse(model.isLoaded(5));
+            assertSame(PagedTableModel.FAILED, model.getValueAt(5, 0));
+            assertSame(PagedTableModel.FAILED, model.getValueAt(6, 0));
+        });
+        assertEquals(Arrays.asList(0), loaded);
+
+        fail[0] = false;
+        SwingUtilities.invokeAndWait(() -> {
+            model.reload();
+            assertFalse(model.isFailed(5));
+            assertSame(PagedTableModel.LOADING, model.getValueAt(5, 0));
+        });
+        SwingUtilities.invokeAndWait(() -> assertEquals(5, model.getValueAt(5, 0)));
+        assertEquals(Arrays.asList(0, 0), loaded);
+    }
+
+    @Test public void pagesScrolledPastBeforeLoadingAreSkippedAndRepainted() throws Exception {
+        List<Runnable> queued = new ArrayList<>();
+        List<Integer> loaded = new ArrayList<>();
+        PagedTableModel model = new PagedTableModel(1000, 10, 2, (first, count) -> {
+            loaded.add(first);
+            return IntStream.range(first, first + count).boxed().collect(Collectors.toList());
+        }, queued::add);
+        model.setColumnNames(Arrays.asList("N"));
+        model.setPrefetch(0);
+        List<TableModelEvent> events = new ArrayList<>();
+        model.addTableModelListener(events::add);
+
+        SwingUtilities.invokeAndWait(() -> {
+            model.getValueAt(5, 0);
+            model.getValueAt(505, 0);
+        });
+        queued.remove(0).run();
+        SwingUtilities.invokeAndWait(() -> {
+            assertTrue(loaded.isEmpty());
+            assertEquals(1, events.size());
+            assertEquals(0, events.get(0).getFirstRow());
+            assertFalse(model.isFailed(5));
+            // Shown again, so requested again.
+            assertSame(PagedTableModel.LOADING, model.getValueAt(5, 0));
+        });
+        assertEquals(2, queued.size());
+    }
+}
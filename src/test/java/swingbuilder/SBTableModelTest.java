@@ -0,0 +1,132 @@
+package swingbuilder;
+
+import com.insilicalabs.swingbuilder.models.ParallelRowSorter;
+import com.insilicalabs.swingbuilder.models.SBTableModel;
+import org.junit.Test;
+
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import javax.swing.SwingUtilities;
+import javax.swing.event.TableModelEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class SBTableModelTest {
+    @Test public void rowCacheProjectsEachRowOnceUntilChanged() {
+        AtomicInteger projections = new AtomicInteger();
+        List<String> data = new ArrayList<>(Arrays.asList("a", "b"));
+        SBTableModel model = new SBTableModel();
+        model.setRowFn((o) -> {
+            projections.incrementAndGet();
+            return new Object[]{o, o.toString().toUpperCase()};
+        });
+        model.setRowCacheSize(16);
+        model.setData(data);
+
+        assertEquals(2, model.getColumnCount());
+        int afterColumnCount = projections.get();
+        assertEquals("a", model.getValueAt(0, 0));
+        assertEquals("A", model.getValueAt(0, 1));
+        assertEquals(afterColumnCount + 1, projections.get());
+
+        data.set(0, "c");
+        model.fireTableRowsUpdated(0, 0);
+        assertEquals("C", model.getValueAt(0, 1));
+    }
+
+    @Test public void columnsExtractCellsWithoutRowFn() {
+        SBTableModel model = new SBTableModel();
+        model.addColumn("Name", (o) -> o);
+        model.addColumn("Length", (o) -> o.toString().length());
+        model.setData(Arrays.asList("one", "three"));
+
+        assertEquals(2, model.getColumnCount());
+        assertEquals("Length", model.getColumnName(1));
+        assertEquals(5, model.getValueAt(1, 1));
+    }
+
+    @Test public void setDataWithUnchangedRowsFiresNarrowestEvent() {
+        SBTableModel model = new SBTableModel();
+        model.setData(Arrays.asList("a", "b"));
+        List<TableModelEvent> events = new ArrayList<>();
+        model.addTableModelListener(events::add);
+
+        model.setData(Arrays.asList("a", "b", "c"), true);
+        assertEquals(TableModelEvent.INSERT, events.get(0).getType());
+        assertEquals(2, events.get(0).getFirstRow());
+        assertEquals(2, events.get(0).getLastRow());
+
+        model.setData(Arrays.asList("a", "x", "c"), true);
+        assertEquals(TableModelEvent.UPDATE, events.get(1).getType());
+        assertEquals(1, events.get(1).getFirstRow());
+        assertEquals(1, events.get(1).getLastRow());
+
+        model.removeRows(0, 0);
+        assertEquals(TableModelEvent.DELETE, events.get(2).getType());
+        assertEquals(Arrays.asList("x", "c"), model.getData());
+
+        model.setRowFn((o) -> new Object[]{o, o});
+        model.setData(Arrays.asList("x", "c"), true);
+        assertEquals(TableModelEvent.HEADER_ROW, events.get(3).getFirstRow());
+        assertEquals(4, events.size());
+
+        // An equal but different instance is a changed row; the same instances are not.
+        model.setData(Arrays.asList("x", new String("c")), true);
+        assertEquals(TableModelEvent.UPDATE, events.get(4).getType());
+        assertEquals(1, events.get(4).getFirstRow());
+        assertEquals(1, events.get(4).getLastRow());
+        model.setData(new ArrayList<>(model.getData()), true);
+        assertEquals(5, events.size());
+    }
+
+    @Test public void setDataReportsRowsModifiedInPlace() {
+        SBTableModel model = new SBTableModel();
+        model.setRowFn((o) -> new Object[]{((StringBuilder) o).toString()});
+        model.setRowCacheSize(16);
+        List<StringBuilder> rows = new ArrayList<>(Arrays.asList(new StringBuilder("a"), new StringBuilder("b")));
+        model.setData(rows);
+        assertEquals("b", model.getValueAt(1, 0));
+        List<TableModelEvent> events = new ArrayList<>();
+        model.addTableModelListener(events::add);
+
+        // Reload, modify a row, and hand over a fresh list of the same instances.
+        rows.get(1).append("!");
+        model.setData(new ArrayList<>(rows));
+        assertEquals(1, events.size());
+        assertEquals(TableModelEvent.UPDATE, events.get(0).getType());
+        assertEquals(0, events.get(0).getFirstRow());
+        assertEquals(1, events.get(0).getLastRow());
+        assertEquals("b!", model.getValueAt(1, 0));
+
+        rows.get(0).append("?");
+        rows.add(new StringBuilder("c"));
+        model.setData(new ArrayList<>(rows));
+        assertEquals(TableModelEvent.UPDATE, events.get(1).getType());
+        assertEquals(Integer.MAX_VALUE, events.get(1).getLastRow());
+        assertEquals("a?", model.getValueAt(0, 0));
+        assertEquals(3, model.getRowCount());
+    }
+
+    @Test public void parallelRowSorterSortsAndFiltersOffTheEdt() throws Exception {
+        SBTableModel model = new SBTableModel();
+        model.addColumn("Name", (o) -> o);
+        model.addColumn("Length", (o) -> o.toString().length());
+        model.setData(Arrays.asList("ccc", "a", "bb", "dddd"));
+        ParallelRowSorter sorter = new ParallelRowSorter(model, Runnable::run);
+
+        sorter.setSortKeys(Arrays.asList(new RowSorter.SortKey(1, SortOrder.DESCENDING)));
+        sorter.setFilter((row) -> !row.equals("bb"));
+        // The new order is published on the EDT.
+        SwingUtilities.invokeAndWait(() -> {});
+
+        assertEquals(3, sorter.getViewRowCount());
+        assertEquals(3, sorter.convertRowIndexToModel(0));
+        assertEquals(0, sorter.convertRowIndexToModel(1));
+        assertEquals(1, sorter.convertRowIndexToModel(2));
+        assertEquals(-1, sorter.convertRowIndexToView(2));
+    }
+}
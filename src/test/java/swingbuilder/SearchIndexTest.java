@@ -0,0 +1,112 @@
+package swingbuilder;
+
+import com.insilicalabs.swingbuilder.SwingBuilderBase;
+import com.insilicalabs.swingbuilder.models.ParallelRowSorter;
+import com.insilicalabs.swingbuilder.models.SBTableModel;
+import com.insilicalabs.swingbuilder.models.SearchFilter;
+import com.insilicalabs.swingbuilder.models.SearchIndex;
+import org.junit.Test;
+
+import javax.swing.DefaultListModel;
+import javax.swing.JList;
+import javax.swing.SwingUtilities;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static com.insilicalabs.swingbuilder.Configurators.items;
+import static com.insilicalabs.swingbuilder.Creators.list;
+import static org.junit.Assert.*;
+
+public class SearchIndexTest {
+    private static BitSet rows(int... rows) {
+        BitSet set = new BitSet();
+        for (int row : rows) set.set(row);
+        return set;
+    }
+
+    @Test public void followsTableChanges() throws Exception {
+        SBTableModel model = new SBTableModel();
+        model.setRowFn((o) -> new Object[]{o, o.toString().length()});
+        model.setData(Arrays.asList("Apple", "banana", "Pineapple", "cherry"));
+        SearchIndex index = SearchIndex.forTable(model);
+        assertEquals(rows(0, 2), index.search("APPLE").get());
+        assertEquals(rows(1), index.search("an").get());
+        assertEquals(rows(1, 3), index.search("6").get());
+        assertEquals(rows(), index.search("applesauce").get());
+
+        model.insertRows(1, Arrays.asList("crabapple"));
+        model.removeRows(2, 2);
+        model.updateRows(0, Arrays.asList("grape"));
+        assertEquals(rows(1, 2), index.search("apple").get());
+        assertEquals(rows(0), index.search("rap").get());
+        assertEquals(Integer.valueOf(2), index.nextMatch("apple", 1).get());
+        assertEquals(Integer.valueOf(1), index.nextMatch("apple", 2).get());
+        assertEquals(Integer.valueOf(-1), index.nextMatch("kiwi", 0).get());
+
+        for (int i = 0; i < 3000; i++) model.updateRows(3, Arrays.asList("cherry" + i));
+        assertEquals(rows(3), index.search("cherry2999").get());
+        index.dispose();
+    }
+
+    @Test public void followsListChanges() throws Exception {
+        DefaultListModel<String> model = new DefaultListModel<>();
+        model.addElement("alpha");
+        SearchIndex index = SearchIndex.forList(model);
+        model.addElement("beta");
+        model.add(0, "alphabet");
+        model.set(2, "gamma");
+        assertEquals(rows(0, 1), index.search("alp").get());
+        assertEquals(rows(2), index.search("amm").get());
+        model.removeElementAt(0);
+        assertEquals(rows(0), index.search("alpha").get());
+        index.dispose();
+    }
+
+    @Test public void followsTheListToNewModels() throws Exception {
+        JList<?> list = list(items("alpha", "beta"));
+        SearchIndex index = SearchIndex.forList(list);
+        assertEquals(rows(0), index.search("alp").get());
+        SwingBuilderBase.configure(list, items("gamma", "alphabet", "alpine"));
+        assertEquals(rows(1, 2), index.search("alp").get());
+        index.dispose();
+    }
+
+    /**
+     * Lets searches finish and their results, and the orders the sorter computes from them, reach the EDT.
+     */
+    private static void settle(SearchIndex index) throws Exception {
+        for (int i = 0; i < 4; i++) {
+            index.search("").get();
+            SwingUtilities.invokeAndWait(() -> {});
+        }
+    }
+
+    @Test public void searchFilterShowsOnlyTheLatestQueryAndFollowsTheModel() throws Exception {
+        SBTableModel model = new SBTableModel();
+        model.setData(Arrays.asList("apple", "banana", "pineapple"));
+        SearchIndex index = SearchIndex.forTable(model);
+        ParallelRowSorter sorter = new ParallelRowSorter(model, Runnable::run);
+        SearchFilter[] filter = new SearchFilter[1];
+        SwingUtilities.invokeAndWait(() -> {
+            filter[0] = new SearchFilter(index, sorter);
+            // Cleared before the search can finish, so its result must not be shown.
+            filter[0].setQuery("apple");
+            filter[0].setQuery("");
+        });
+        settle(index);
+        assertNull(sorter.getModelRowFilter());
+        assertEquals(3, sorter.getViewRowCount());
+
+        SwingUtilities.invokeAndWait(() -> filter[0].setQuery("apple"));
+        settle(index);
+        assertEquals(2, sorter.getViewRowCount());
+
+        SwingUtilities.invokeAndWait(() -> model.insertRows(0, Arrays.asList("apple pie", "cherry")));
+        settle(index);
+        assertEquals(3, sorter.getViewRowCount());
+        assertEquals(0, sorter.convertRowIndexToModel(0));
+        assertEquals(2, sorter.convertRowIndexToModel(1));
+        assertEquals(4, sorter.convertRowIndexToModel(2));
+        index.dispose();
+    }
+}
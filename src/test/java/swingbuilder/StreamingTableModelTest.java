@@ -0,0 +1,63 @@
+package swingbuilder;
+
+import com.insilicalabs.swingbuilder.models.StreamingTableModel;
+import org.junit.Test;
+
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+import javax.swing.event.TableModelEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.insilicalabs.swingbuilder.Configurators.tableModel;
+import static com.insilicalabs.swingbuilder.Creators.table;
+import static org.junit.Assert.*;
+
+public class StreamingTableModelTest {
+    @Test public void drainAppendsOnceAndEvictsOldest() throws Exception {
+        StreamingTableModel model = new StreamingTableModel(1, 4);
+        List<TableModelEvent> events = new ArrayList<>();
+        SwingUtilities.invokeAndWait(() -> {
+            model.offerAll(Arrays.asList(1, 2));
+            model.drain();
+            model.addTableModelListener(events::add);
+
+            model.offer(3);
+            model.offer(4);
+            model.drain();
+            assertEquals(1, events.size());
+            assertEquals(TableModelEvent.INSERT, events.get(0).getType());
+            assertEquals(2, events.get(0).getFirstRow());
+            assertEquals(3, events.get(0).getLastRow());
+
+            model.offerAll(Arrays.asList(5, 6, 7));
+            model.drain();
+            assertEquals(0, model.getPendingCount());
+            assertEquals(4, model.getRowCount());
+            assertEquals(4, model.getValueAt(0, 0));
+            assertEquals(7, model.getValueAt(3, 0));
+            // The three oldest rows are deleted and the three new ones inserted after the one left.
+            assertEquals(TableModelEvent.DELETE, events.get(1).getType());
+            assertEquals(0, events.get(1).getFirstRow());
+            assertEquals(2, events.get(1).getLastRow());
+            assertEquals(TableModelEvent.INSERT, events.get(2).getType());
+            assertEquals(1, events.get(2).getFirstRow());
+            assertEquals(3, events.get(2).getLastRow());
+        });
+    }
+
+    @Test public void timerOnlyRunsWhileTheTableIsDisplayable() throws Exception {
+        StreamingTableModel model = new StreamingTableModel(1, 4);
+        SwingUtilities.invokeAndWait(() -> {
+            JTable table = table(tableModel(model));
+            assertSame(model, table.getModel());
+            // Never added to a window, so never displayable.
+            assertFalse(model.isRunning());
+            model.start();
+            assertTrue(model.isRunning());
+            model.stop();
+            assertFalse(model.isRunning());
+        });
+    }
+}
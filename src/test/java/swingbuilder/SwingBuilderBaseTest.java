@@ -0,0 +1,225 @@
+package swingbuilder;
+
+import com.insilicalabs.swingbuilder.Configurators;
+import com.insilicalabs.swingbuilder.SwingBuilderBase;
+import org.junit.Test;
+
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JSplitPane;
+import javax.swing.SwingUtilities;
+import java.awt.Component;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.insilicalabs.swingbuilder.Configurators.contents;
+import static com.insilicalabs.swingbuilder.Configurators.name;
+import static com.insilicalabs.swingbuilder.Configurators.tooltip;
+import static com.insilicalabs.swingbuilder.Creators.label;
+import static com.insilicalabs.swingbuilder.Creators.panel;
+import static com.insilicalabs.swingbuilder.Creators.splitPane;
+import static org.junit.Assert.*;
+
+public class SwingBuilderBaseTest {
+    @Test public void configureAsyncAppliesByRuntimeType() throws Exception {
+        Component label = new JLabel();
+        Component configured = SwingBuilderBase.configureAsync(label, "hello", name("greeting")).get();
+        assertSame(label, configured);
+        assertEquals("hello", ((JLabel) label).getText());
+        assertEquals("greeting", label.getName());
+    }
+
+    @Test public void configureConvertsByRuntimeTypeOfComponent() {
+        Component panel = new JPanel();
+        SwingBuilderBase.configure(panel, new JLabel("child"));
+        assertEquals(1, ((JPanel) panel).getComponentCount());
+    }
+
+    @Test public void registeredConverterAppliesToSubclasses() {
+        class Card extends JPanel {}
+        SwingBuilderBase.registerConverter(Card.class, Integer.class, (i) -> name("card " + i));
+        Card card = new Card();
+        SwingBuilderBase.configure(card, 7, new JLabel("still a panel"));
+        assertEquals("card 7", card.getName());
+        assertEquals(1, card.getComponentCount());
+    }
+
+    @Test public void excludedConfigurationAndChildrenAreSkipped() {
+        assertSame(SwingBuilderBase.EXCLUDED, SwingBuilderBase.includeWhen(false, new JLabel("hidden")));
+        JPanel panel = panel(
+                SwingBuilderBase.includeWhen(false, new JLabel("hidden"), name("hidden")),
+                SwingBuilderBase.EXCLUDED,
+                label("shown"),
+                SwingBuilderBase.includeWhen(true, label("also shown"), name("included")));
+        assertEquals(2, panel.getComponentCount());
+        assertEquals("shown", ((JLabel) panel.getComponent(0)).getText());
+        assertEquals("included", panel.getName());
+    }
+
+    @Test public void splitPaneFillsItsEmptySidesInOrder() {
+        JSplitPane empty = splitPane();
+        assertNull(empty.getLeftComponent());
+        assertNull(empty.getRightComponent());
+
+        JLabel right = label("right");
+        JSplitPane oneSide = splitPane(SwingBuilderBase.includeWhen(false, label("left")), right);
+        assertSame(right, oneSide.getLeftComponent());
+        assertNull(oneSide.getRightComponent());
+
+        JLabel left = label("left");
+        JSplitPane both = splitPane(left, SwingBuilderBase.EXCLUDED, right, label("one too many"));
+        assertSame(left, both.getLeftComponent());
+        assertSame(right, both.getRightComponent());
+    }
+
+    /**
+     * A panel counting the revalidations asked of it.
+     */
+    private static class CountingPanel extends JPanel {
+        private final AtomicInteger revalidations;
+        private final boolean validateRoot;
+
+        CountingPanel(AtomicInteger revalidations, boolean validateRoot) {
+            this.revalidations = revalidations;
+            this.validateRoot = validateRoot;
+        }
+
+        @Override
+        public boolean isValidateRoot() {
+            return validateRoot;
+        }
+
+        @Override
+        public void revalidate() {
+            if (revalidations != null) revalidations.incrementAndGet();
+            super.revalidate();
+        }
+    }
+
+    @Test public void batchLayoutRevalidatesEachValidateRootOnce() throws Exception {
+        AtomicInteger revalidations = new AtomicInteger();
+        SwingUtilities.invokeAndWait(() -> {
+            JPanel root = new CountingPanel(revalidations, true);
+            JPanel left = new CountingPanel(revalidations, false);
+            JPanel right = new CountingPanel(revalidations, false);
+            root.add(left);
+            root.add(right);
+            root.addNotify();
+            revalidations.set(0);
+            SwingBuilderBase.batchLayout(() -> {
+                SwingBuilderBase.configure(left, contents(new JLabel("a")));
+                SwingBuilderBase.configure(right, contents(new JLabel("b")));
+                SwingBuilderBase.configure(left, contents(new JLabel("c")));
+                assertEquals(0, revalidations.get());
+            });
+            assertEquals(1, revalidations.get());
+            assertEquals(2, left.getComponentCount());
+        });
+    }
+
+    @Test public void batchLayoutLeavesContainersThatAreNotDisplayable() throws Exception {
+        AtomicInteger revalidations = new AtomicInteger();
+        SwingUtilities.invokeAndWait(() -> SwingBuilderBase.batchLayout(() -> {
+            JPanel detached = new CountingPanel(revalidations, false);
+            SwingBuilderBase.configure(detached, contents(new JLabel("a")));
+            assertEquals(1, revalidations.get());
+        }));
+        assertEquals(1, revalidations.get());
+    }
+
+    @Test public void buildBatchedTakesOneEdtTripForTheWholeTree() throws Exception {
+        Object[] rows = new Object[500];
+        long trips = SwingBuilderBase.getEdtRoundTrips();
+        JPanel form = SwingBuilderBase.buildBatched(() -> {
+            for (int i = 0; i < rows.length; i++) rows[i] = label("field " + i, name("label" + i), tooltip("tip"));
+            // Another thread building meanwhile is not batched.
+            JLabel[] other = new JLabel[1];
+            Thread thread = new Thread(() -> other[0] = label("elsewhere"));
+            thread.start();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            assertEquals("elsewhere", other[0].getText());
+            return panel(name("form"), rows);
+        });
+        // One for the whole batch, one for the other thread's label.
+        assertEquals(2, SwingBuilderBase.getEdtRoundTrips() - trips);
+        assertEquals(500, form.getComponentCount());
+        assertEquals("field 499", ((JLabel) form.getComponent(499)).getText());
+        assertEquals("form", form.getName());
+
+        trips = SwingBuilderBase.getEdtRoundTrips();
+        label("not batched", name("after"));
+        assertEquals(2, SwingBuilderBase.getEdtRoundTrips() - trips);
+    }
+
+    /**
+     * A configurator noting the thread it is applied on.
+     */
+    static Configurators.Configurator recordThread(List<Thread> threads, boolean requiresEDT) {
+        return new Configurators.Configurator() {
+            @Override
+            protected void apply(Component c) {
+                threads.add(Thread.currentThread());
+            }
+
+            @Override
+            protected boolean requiresEDT(Component c) {
+                return requiresEDT;
+            }
+        };
+    }
+
+    @Test public void detachedBuildConfiguresUndisplayableComponentsOnTheCallingThread() throws Exception {
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        long trips = SwingBuilderBase.getEdtRoundTrips();
+        JPanel form = SwingBuilderBase.buildDetached(() ->
+                panel(name("form"), label("a", recordThread(threads, false)), recordThread(threads, false)));
+        assertEquals(0, SwingBuilderBase.getEdtRoundTrips() - trips);
+        assertEquals(2, threads.size());
+        for (Thread t : threads) assertSame(Thread.currentThread(), t);
+        assertEquals("form", form.getName());
+        assertEquals("a", ((JLabel) form.getComponent(0)).getText());
+    }
+
+    @Test public void detachedBuildOnlyAffectsTheThreadRunningIt() throws Exception {
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        Thread[] edt = new Thread[1];
+        SwingUtilities.invokeAndWait(() -> edt[0] = Thread.currentThread());
+        SwingBuilderBase.buildDetached(() -> {
+            Thread other = new Thread(() -> SwingBuilderBase.configure(new JPanel(), recordThread(threads, false)));
+            other.start();
+            try {
+                other.join();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return null;
+        });
+        SwingBuilderBase.configure(new JPanel(), recordThread(threads, false));
+        assertEquals(2, threads.size());
+        for (Thread t : threads) assertSame(edt[0], t);
+    }
+
+    @Test public void detachedBuildStillUsesTheEdtWhenItMust() throws Exception {
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        JPanel shown = new JPanel();
+        Thread[] edt = new Thread[1];
+        SwingUtilities.invokeAndWait(() -> {
+            shown.addNotify();
+            edt[0] = Thread.currentThread();
+        });
+        long trips = SwingBuilderBase.getEdtRoundTrips();
+        SwingBuilderBase.buildDetached(() -> {
+            // Displayable components, and configurators that must run on the EDT, go there.
+            SwingBuilderBase.configure(shown, recordThread(threads, false));
+            return SwingBuilderBase.configure(new JPanel(), recordThread(threads, true));
+        });
+        assertEquals(2, SwingBuilderBase.getEdtRoundTrips() - trips);
+        assertEquals(2, threads.size());
+        for (Thread t : threads) assertSame(edt[0], t);
+    }
+}
@@ -0,0 +1,101 @@
+package swingbuilder;
+
+import com.insilicalabs.swingbuilder.SwingBuilderBase;
+import com.insilicalabs.swingbuilder.components.VirtualRepeater;
+import org.junit.Test;
+
+import javax.swing.JLabel;
+import javax.swing.JScrollPane;
+import javax.swing.SwingUtilities;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.insilicalabs.swingbuilder.Configurators.virtualContents;
+import static org.junit.Assert.*;
+
+public class VirtualRepeaterTest {
+
+    private static List<Integer> numbers(int count) {
+        return IntStream.range(0, count).boxed().collect(Collectors.toList());
+    }
+
+    private static JLabel rowAt(VirtualRepeater<?, ?> repeater, int y) {
+        for (Component c : repeater.getComponents()) {
+            if (c.isVisible() && c.getY() <= y && y < c.getY() + c.getHeight()) return (JLabel) c;
+        }
+        return null;
+    }
+
+    private static void scrollTo(JScrollPane scrollPane, int y) {
+        scrollPane.getViewport().setViewPosition(new Point(0, y));
+        scrollPane.getViewport().getView().doLayout();
+    }
+
+    @Test public void materializesOnlyVisibleRowsAndRecyclesThemWhenScrolling() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            int[] created = new int[1];
+            JScrollPane scrollPane = SwingBuilderBase.configure(new JScrollPane(), virtualContents(numbers(10_000),
+                (i) -> {
+                    created[0]++;
+                    JLabel row = new JLabel();
+                    row.setPreferredSize(new Dimension(100, 20));
+                    return row;
+                },
+                (i, row) -> row.setText("item " + i)));
+            VirtualRepeater<?, ?> repeater = (VirtualRepeater<?, ?>) scrollPane.getViewport().getView();
+            scrollPane.setSize(200, 100);
+            scrollPane.doLayout();
+            scrollPane.getViewport().doLayout();
+            repeater.doLayout();
+            assertEquals(20, repeater.getRowHeight());
+            assertEquals(20 * 10_000, repeater.getPreferredSize().height);
+            assertEquals("item 0", rowAt(repeater, 0).getText());
+
+            scrollTo(scrollPane, 20 * 5000);
+            assertEquals("item 5000", rowAt(repeater, 20 * 5000).getText());
+            // The 5 rows showing and 5 more above and below.
+            int materialized = repeater.getMaterializedRowCount();
+            assertTrue(materialized <= 16);
+            scrollTo(scrollPane, 20 * 9990);
+            assertEquals("item 9995", rowAt(repeater, 20 * 9995 + 5).getText());
+            // Far jumps reuse the rows scrolled away from rather than making new ones.
+            assertEquals(materialized, repeater.getMaterializedRowCount());
+            assertEquals(materialized, created[0]);
+        });
+    }
+
+    @Test public void reappliedVirtualContentsUsesTheNewFunctionsAndTallestRow() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            List<String> bound = new ArrayList<>();
+            JScrollPane scrollPane = SwingBuilderBase.configure(new JScrollPane(), virtualContents(numbers(100),
+                (i) -> new JLabel(), (i, row) -> row.setText("old " + i)));
+            VirtualRepeater<?, ?> repeater = (VirtualRepeater<?, ?>) scrollPane.getViewport().getView();
+            scrollPane.setSize(200, 100);
+            scrollPane.doLayout();
+            repeater.doLayout();
+            int rows = repeater.getMaterializedRowCount();
+
+            SwingBuilderBase.configure(scrollPane, virtualContents(numbers(100), (i) -> new JLabel(),
+                (Integer i, JLabel row) -> {
+                    bound.add("new " + i);
+                    row.setText("new " + i);
+                    // Every tenth row is taller.
+                    row.setPreferredSize(new Dimension(100, i % 10 == 3 ? 40 : 20));
+                }));
+            repeater.doLayout();
+            assertSame(repeater, scrollPane.getViewport().getView());
+            assertTrue(bound.contains("new 0"));
+            assertEquals("new 0", rowAt(repeater, 0).getText());
+            assertEquals(rows, repeater.getMaterializedRowCount());
+            // Row 3 is the tallest, so every row is that tall and none overlaps the next.
+            assertEquals(40, repeater.getRowHeight());
+            assertEquals("new 1", rowAt(repeater, 40).getText());
+            assertEquals("new 3", rowAt(repeater, 3 * 40 + 39).getText());
+        });
+    }
+}